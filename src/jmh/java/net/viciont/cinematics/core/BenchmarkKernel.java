@@ -0,0 +1,74 @@
+package net.viciont.cinematics.core;
+
+import net.viciont.cinematics.core.InterpoladorFrames.TipoInterpolacion;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Precálculo de una curva completa con el núcleo escalar frente al kernel SIMD
+ * Se ejecuta con: mvn -Psimd,benchmark test-compile exec:exec
+ *
+ * @author CrissyjuanxD
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"--add-modules", "jdk.incubator.vector"})
+public class BenchmarkKernel {
+
+    @Param({"1000", "10000", "100000"})
+    private int claves;
+
+    @Param({"LINEAR", "SMOOTH"})
+    private TipoInterpolacion tipo;
+
+    @Param({"false", "true"})
+    private boolean simd;
+
+    private CurvaCamara curva;
+    private PistasPose salida;
+
+    @Setup
+    public void preparar() {
+        if (!NucleoInterpolacion.configurarVectorial(simd) && simd) {
+            throw new IllegalStateException("KernelVectorial no disponible: ejecuta con -Psimd,benchmark");
+        }
+
+        // 60 FPS sobre claves grabadas a 20 por segundo
+        curva = new NucleoInterpolacion(tipo, true).preparar(crearClaves(claves), 2);
+        salida = new PistasPose(curva.getTotal());
+    }
+
+    @Benchmark
+    public void muestras(Blackhole agujero) {
+        curva.muestras(0, curva.getTotal(), salida);
+        agujero.consume(salida);
+    }
+
+    /**
+     * Recorrido circular en un solo mundo, con giro y cabeceo continuos
+     */
+    static PistasPose crearClaves(int cantidad) {
+        PistasPose pistas = new PistasPose(cantidad);
+        for (int i = 0; i < cantidad; i++) {
+            double angulo = i * 0.01;
+            pistas.escribir(i, 0, Math.cos(angulo) * 50, 64 + Math.sin(i * 0.03), Math.sin(angulo) * 50,
+                    (float) (i % 360 - 180), (float) (Math.sin(i * 0.02) * 30));
+        }
+        return pistas;
+    }
+}
@@ -0,0 +1,70 @@
+package net.viciont.cinematics.core;
+
+import net.viciont.cinematics.core.InterpoladorFrames.TipoInterpolacion;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Precálculo secuencial frente al reparto en el ForkJoinPool común
+ * El reparto parte la curva en un trozo por hilo; el tamaño en el que empieza a ganar es el
+ * valor de performance.parallel_interpolation_threshold
+ * Se ejecuta con: mvn -Psimd,benchmark test-compile exec:exec
+ *
+ * @author CrissyjuanxD
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class BenchmarkPrecalculo {
+
+    @Param({"1000", "2500", "5000", "10000", "20000", "100000"})
+    private int muestras;
+
+    @Param({"LINEAR", "CATMULL_ROM"})
+    private TipoInterpolacion tipo;
+
+    private CurvaCamara curva;
+    private PistasPose salida;
+    private int umbral;
+
+    @Setup
+    public void preparar() {
+        NucleoInterpolacion.configurarVectorial(false);
+
+        // Dos muestras intermedias por par de claves (60 FPS sobre 20 claves por segundo)
+        curva = new NucleoInterpolacion(tipo, true).preparar(BenchmarkKernel.crearClaves(muestras / 3 + 1), 2);
+        salida = new PistasPose(curva.getTotal());
+
+        // El hilo que llama también trabaja mientras espera
+        int hilos = ForkJoinPool.getCommonPoolParallelism() + 1;
+        umbral = Math.max(1, (curva.getTotal() + hilos - 1) / hilos);
+    }
+
+    @Benchmark
+    public void secuencial(Blackhole agujero) {
+        curva.muestras(0, curva.getTotal(), salida);
+        agujero.consume(salida);
+    }
+
+    @Benchmark
+    public void paralelo(Blackhole agujero) {
+        curva.muestrasEnParalelo(salida, umbral);
+        agujero.consume(salida);
+    }
+}
@@ -9,7 +9,10 @@ import net.viciont.cinematics.commands.CinematicaVivaComando;
 import net.viciont.cinematics.commands.CinematicaTabCompleter;
 import net.viciont.cinematics.commands.CinematicaVivaTabCompleter;
 import net.viciont.cinematics.core.GestorCinematicas;
+import net.viciont.cinematics.core.GestorPackets;
+import net.viciont.cinematics.core.PlanificadorTareas;
 import net.viciont.cinematics.listeners.ListenerGlobal;
+import net.viciont.cinematics.utils.CadenaTareas;
 import net.viciont.cinematics.utils.ConfiguracionJSON;
 import org.bukkit.configuration.file.FileConfiguration;
 import org.bukkit.plugin.java.JavaPlugin;
@@ -25,7 +28,9 @@ import java.util.logging.Level;
 public class ViciontCinematics extends JavaPlugin {
 
     private static ViciontCinematics instancia;
+    private PlanificadorTareas planificador;
     private GestorCinematicas gestorCinematicas;
+    private GestorPackets gestorPackets;
     private FileConfiguration config;
     private static final MiniMessage miniMessage = MiniMessage.miniMessage();
     private static final Gson gson = new GsonBuilder().setPrettyPrinting().create();
@@ -67,9 +72,16 @@ public class ViciontCinematics extends JavaPlugin {
     public void onDisable() {
         // Guardar configuración antes de desactivar
         if (gestorCinematicas != null) {
+            gestorCinematicas.detenerReproductor();
             guardarConfiguracion();
         }
 
+        // Cancelar las cadenas de tareas que sigan durmiendo
+        int canceladas = CadenaTareas.detenerTodas(2000L);
+        if (canceladas > 0) {
+            getLogger().info("Cadenas de tareas canceladas: " + canceladas);
+        }
+
         getLogger().info("§c¡Viciont Cinematics ha sido deshabilitado!");
     }
 
@@ -78,6 +90,8 @@ public class ViciontCinematics extends JavaPlugin {
      */
     private void inicializarComponentes() {
         try {
+            this.planificador = new PlanificadorTareas(this);
+            this.gestorPackets = new GestorPackets(this);
             this.gestorCinematicas = new GestorCinematicas(this);
 
             getLogger().info("§aComponentes inicializados correctamente");
@@ -124,6 +138,8 @@ public class ViciontCinematics extends JavaPlugin {
             reloadConfig();
             this.config = getConfig();
 
+            CadenaTareas.configurarBackend(config.getString("performance.task_chain_backend", "BUKKIT"));
+
             ConfiguracionJSON configJson = new ConfiguracionJSON("cinematicas.json");
             gestorCinematicas.cargarCinematicas(configJson);
 
@@ -170,6 +186,21 @@ public class ViciontCinematics extends JavaPlugin {
         return gestorCinematicas;
     }
 
+    public PlanificadorTareas getPlanificador() {
+        return planificador;
+    }
+
+    public GestorPackets getGestorPackets() {
+        return gestorPackets;
+    }
+
+    /**
+     * Verifica si ProtocolLib está instalado y habilitado (es una dependencia opcional)
+     */
+    public boolean isProtocolLibDisponible() {
+        return getServer().getPluginManager().isPluginEnabled("ProtocolLib");
+    }
+
     public static MiniMessage getMiniMessage() {
         return miniMessage;
     }
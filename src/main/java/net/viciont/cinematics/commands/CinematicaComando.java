@@ -1,7 +1,9 @@
 package net.viciont.cinematics.commands;
 
 import net.viciont.cinematics.ViciontCinematics;
+import net.viciont.cinematics.core.GestorCinematicas;
 import net.viciont.cinematics.objects.Cinematica.TipoCinematica;
+import net.viciont.cinematics.objects.ProgresoCinematica;
 import org.bukkit.Bukkit;
 import org.bukkit.command.Command;
 import org.bukkit.command.CommandExecutor;
@@ -171,6 +173,93 @@ public class CinematicaComando implements CommandExecutor {
 
                 forzarDetenerCinematica(sender, args[1]);
             }
+            case "pause", "resume" -> {
+                if (!sender.hasPermission("viciont.cinematics.admin")) {
+                    if (sender instanceof Player) {
+                        plugin.enviarMensaje((Player) sender, "<red>No tienes permisos de administrador.");
+                    } else {
+                        sender.sendMessage("§cNo tienes permisos de administrador.");
+                    }
+                    return true;
+                }
+
+                if (args.length < 2) {
+                    if (sender instanceof Player) {
+                        plugin.enviarMensaje((Player) sender, "<red>Uso: /cinematica " + subcomando + " <jugador>");
+                    } else {
+                        sender.sendMessage("§cUso: /cinematica " + subcomando + " <jugador>");
+                    }
+                    return true;
+                }
+
+                pausarCinematica(sender, args[1], subcomando.equals("pause"));
+            }
+            case "seek" -> {
+                if (!sender.hasPermission("viciont.cinematics.admin")) {
+                    if (sender instanceof Player) {
+                        plugin.enviarMensaje((Player) sender, "<red>No tienes permisos de administrador.");
+                    } else {
+                        sender.sendMessage("§cNo tienes permisos de administrador.");
+                    }
+                    return true;
+                }
+
+                if (args.length < 3) {
+                    if (sender instanceof Player) {
+                        plugin.enviarMensaje((Player) sender, "<red>Uso: /cinematica seek <jugador> <segundos>");
+                    } else {
+                        sender.sendMessage("§cUso: /cinematica seek <jugador> <segundos>");
+                    }
+                    return true;
+                }
+
+                buscarEnCinematica(sender, args[1], args[2]);
+            }
+            case "debug" -> {
+                if (!sender.hasPermission("viciont.cinematics.admin")) {
+                    if (sender instanceof Player) {
+                        plugin.enviarMensaje((Player) sender, "<red>No tienes permisos de administrador.");
+                    } else {
+                        sender.sendMessage("§cNo tienes permisos de administrador.");
+                    }
+                    return true;
+                }
+
+                if (args.length < 2) {
+                    if (sender instanceof Player) {
+                        plugin.enviarMensaje((Player) sender, "<red>Uso: /cinematica debug <jugador>");
+                    } else {
+                        sender.sendMessage("§cUso: /cinematica debug <jugador>");
+                    }
+                    return true;
+                }
+
+                mostrarDepuracion(sender, args[1]);
+            }
+            case "queue" -> {
+                if (!sender.hasPermission("viciont.cinematics.admin")) {
+                    if (sender instanceof Player) {
+                        plugin.enviarMensaje((Player) sender, "<red>No tienes permisos de administrador.");
+                    } else {
+                        sender.sendMessage("§cNo tienes permisos de administrador.");
+                    }
+                    return true;
+                }
+
+                mostrarCola(sender);
+            }
+            case "stats" -> {
+                if (!sender.hasPermission("viciont.cinematics.admin")) {
+                    if (sender instanceof Player) {
+                        plugin.enviarMensaje((Player) sender, "<red>No tienes permisos de administrador.");
+                    } else {
+                        sender.sendMessage("§cNo tienes permisos de administrador.");
+                    }
+                    return true;
+                }
+
+                mostrarEstadisticas(sender);
+            }
             case "list" -> listarCinematicas(sender);
             case "delete" -> {
                 if (!sender.hasPermission("viciont.cinematics.admin")) {
@@ -210,6 +299,25 @@ public class CinematicaComando implements CommandExecutor {
                 }
                 clonarCinematica(sender, args[1], args[2]);
             }
+            case "compact" -> {
+                if (!sender.hasPermission("viciont.cinematics.admin")) {
+                    if (sender instanceof Player) {
+                        plugin.enviarMensaje((Player) sender, "<red>No tienes permisos de administrador.");
+                    } else {
+                        sender.sendMessage("§cNo tienes permisos de administrador.");
+                    }
+                    return true;
+                }
+                if (args.length < 2) {
+                    if (sender instanceof Player) {
+                        plugin.enviarMensaje((Player) sender, "<red>Uso: /cinematica compact <nombre> [tolerancia]");
+                    } else {
+                        sender.sendMessage("§cUso: /cinematica compact <nombre> [tolerancia]");
+                    }
+                    return true;
+                }
+                compactarCinematica(sender, args[1], args.length >= 3 ? args[2] : null);
+            }
             case "reload" -> {
                 if (!sender.hasPermission("viciont.cinematics.admin")) {
                     if (sender instanceof Player) {
@@ -244,7 +352,13 @@ public class CinematicaComando implements CommandExecutor {
         sender.sendMessage("§e/cinematica list §7- Lista cinemáticas");
         sender.sendMessage("§e/cinematica delete <nombre> §7- Elimina cinemática");
         sender.sendMessage("§e/cinematica clone <original> <nuevo> §7- Clona cinemática");
+        sender.sendMessage("§e/cinematica compact <nombre> [tolerancia] §7- Reduce los frames guardados");
         sender.sendMessage("§e/cinematica forcestop <all/jugador> §7- Fuerza fin");
+        sender.sendMessage("§e/cinematica pause/resume <jugador> §7- Pausa o reanuda");
+        sender.sendMessage("§e/cinematica seek <jugador> <segundos> §7- Salta a un segundo");
+        sender.sendMessage("§e/cinematica debug <jugador> §7- Estado de reproducción y tasa del jugador");
+        sender.sendMessage("§e/cinematica queue §7- Capacidad usada y reproducciones en espera");
+        sender.sendMessage("§e/cinematica stats §7- Rendimiento de reproducción y caché de interpolación");
         sender.sendMessage("§e/cinematica reload §7- Recarga configuración");
         sender.sendMessage("§a§lOptimizado para 60 FPS y 100+ jugadores");
     }
@@ -344,7 +458,30 @@ public class CinematicaComando implements CommandExecutor {
             jugadores = List.of(objetivo.getUniqueId());
         }
 
-        if (gestor.reproducir(jugadores, nombres)) {
+        // Los administradores pasan delante en la cola cuando se usa queue_mode PRIORITY
+        int prioridad = sender.hasPermission("viciont.cinematics.admin") ? 1 : 0;
+        var resultado = gestor.solicitarReproduccion(jugadores, prioridad, nombres);
+
+        if (resultado == GestorCinematicas.ResultadoReproduccion.EN_COLA) {
+            int posicion = gestor.getControlAdmision().obtenerCola().size();
+            if (sender instanceof Player) {
+                String verCola = sender.hasPermission("viciont.cinematics.admin")
+                        ? " Usa <white>/cinematica queue<yellow> para verla." : "";
+                plugin.enviarMensaje((Player) sender, "<yellow>Servidor al límite de reproducciones. Solicitud en cola (<white>" +
+                        posicion + "<yellow> en espera)." + verCola);
+            } else {
+                sender.sendMessage("§eServidor al límite de reproducciones. Solicitud en cola (" + posicion + " en espera).");
+            }
+        } else if (resultado == GestorCinematicas.ResultadoReproduccion.EXCEDE_LIMITES) {
+            String limites = gestor.getControlAdmision().obtenerLimites();
+            if (sender instanceof Player) {
+                plugin.enviarMensaje((Player) sender, "<red>La solicitud supera por sí sola los límites del servidor (<white>" +
+                        limites + "<red>). Solo puede reproducirse cuando no haya otras cinemáticas en curso.");
+            } else {
+                sender.sendMessage("§cLa solicitud supera por sí sola los límites del servidor (" + limites +
+                        "). Solo puede reproducirse cuando no haya otras cinemáticas en curso.");
+            }
+        } else if (resultado == GestorCinematicas.ResultadoReproduccion.INICIADA) {
             String mensaje;
             if (alcance.equalsIgnoreCase("all")) {
                 mensaje = "Reproduciendo cinemáticas para todos los jugadores";
@@ -361,9 +498,9 @@ public class CinematicaComando implements CommandExecutor {
             }
         } else {
             if (sender instanceof Player) {
-                plugin.enviarMensaje((Player) sender, "<red>Error al reproducir las cinemáticas. Verifica que todas existan.");
+                plugin.enviarMensaje((Player) sender, "<red>Error al reproducir las cinemáticas. Verifica que todas existan y que la cola no esté llena.");
             } else {
-                sender.sendMessage("§cError al reproducir las cinemáticas. Verifica que todas existan.");
+                sender.sendMessage("§cError al reproducir las cinemáticas. Verifica que todas existan y que la cola no esté llena.");
             }
         }
     }
@@ -411,6 +548,131 @@ public class CinematicaComando implements CommandExecutor {
         }
     }
 
+    private void pausarCinematica(CommandSender sender, String objetivo, boolean pausar) {
+        ProgresoCinematica progreso = buscarProgresoJugador(sender, objetivo);
+        if (progreso == null) {
+            return;
+        }
+
+        if (pausar ? progreso.pausar() : progreso.reanudar()) {
+            String mensaje = (pausar ? "Cinemática pausada para " : "Cinemática reanudada para ") + objetivo;
+            if (sender instanceof Player) {
+                plugin.enviarMensaje((Player) sender, "<green>" + mensaje);
+            } else {
+                sender.sendMessage("§a" + mensaje);
+            }
+        } else {
+            String mensaje = pausar ? "La cinemática ya está pausada" : "La cinemática no está pausada";
+            if (sender instanceof Player) {
+                plugin.enviarMensaje((Player) sender, "<yellow>" + mensaje);
+            } else {
+                sender.sendMessage("§e" + mensaje);
+            }
+        }
+    }
+
+    private void buscarEnCinematica(CommandSender sender, String objetivo, String segundosTexto) {
+        double segundos;
+        try {
+            segundos = Double.parseDouble(segundosTexto);
+        } catch (NumberFormatException e) {
+            if (sender instanceof Player) {
+                plugin.enviarMensaje((Player) sender, "<red>Los segundos deben ser un número");
+            } else {
+                sender.sendMessage("§cLos segundos deben ser un número");
+            }
+            return;
+        }
+
+        ProgresoCinematica progreso = buscarProgresoJugador(sender, objetivo);
+        if (progreso == null) {
+            return;
+        }
+
+        if (progreso.buscar(segundos)) {
+            if (sender instanceof Player) {
+                plugin.enviarMensaje((Player) sender, "<green>Cinemática de " + objetivo + " movida al segundo " + segundos);
+            } else {
+                sender.sendMessage("§aCinemática de " + objetivo + " movida al segundo " + segundos);
+            }
+        } else {
+            if (sender instanceof Player) {
+                plugin.enviarMensaje((Player) sender, "<yellow>La cinemática aún no ha empezado");
+            } else {
+                sender.sendMessage("§eLa cinemática aún no ha empezado");
+            }
+        }
+    }
+
+    private void mostrarDepuracion(CommandSender sender, String objetivo) {
+        if (buscarProgresoJugador(sender, objetivo) == null) {
+            return;
+        }
+
+        String depuracion = plugin.getGestorCinematicas().obtenerDepuracionJugador(Bukkit.getPlayer(objetivo));
+        sender.sendMessage("§6§l=== Depuración de " + objetivo + " ===");
+        for (String linea : depuracion.split("\n")) {
+            sender.sendMessage("§7" + linea);
+        }
+    }
+
+    private ProgresoCinematica buscarProgresoJugador(CommandSender sender, String objetivo) {
+        Player jugador = Bukkit.getPlayer(objetivo);
+        ProgresoCinematica progreso = jugador != null
+                ? plugin.getGestorCinematicas().obtenerProgresoCinematica(jugador)
+                : null;
+
+        if (progreso == null) {
+            String mensaje = jugador == null
+                    ? "Jugador no encontrado: " + objetivo
+                    : "El jugador " + objetivo + " no tiene cinemáticas activas";
+            if (sender instanceof Player) {
+                plugin.enviarMensaje((Player) sender, "<red>" + mensaje);
+            } else {
+                sender.sendMessage("§c" + mensaje);
+            }
+        }
+
+        return progreso;
+    }
+
+    private void mostrarCola(CommandSender sender) {
+        var gestor = plugin.getGestorCinematicas();
+        var control = gestor.getControlAdmision();
+        var uso = gestor.calcularUso();
+        var cola = control.obtenerCola();
+
+        sender.sendMessage("§6§l=== Cola de reproducción ===");
+        sender.sendMessage("§7En uso: §f" + uso.getSesiones() + " §7sesiones, §f" + uso.getEspectadores() +
+                " §7espectadores, §f" + uso.getActualizaciones() + " §7actualizaciones/tick");
+        sender.sendMessage("§7Límites: §f" + control.obtenerLimites() + (control.isHabilitado() ? "" : " §c(desactivado)"));
+
+        if (cola.isEmpty()) {
+            sender.sendMessage("§aNo hay reproducciones en espera");
+            return;
+        }
+
+        long ahora = System.currentTimeMillis();
+        int posicion = 1;
+        for (var solicitud : cola) {
+            sender.sendMessage("§e" + posicion++ + ". §f" + String.join(", ", solicitud.getNombres()) +
+                    " §7- " + solicitud.getJugadores().size() + " jugadores, prioridad " + solicitud.getPrioridad() +
+                    ", esperando " + (ahora - solicitud.getInstante()) / 1000 + "s");
+        }
+    }
+
+    private void mostrarEstadisticas(CommandSender sender) {
+        var gestor = plugin.getGestorCinematicas();
+        var reproductor = gestor.getReproductor();
+
+        sender.sendMessage("§6§l=== Estadísticas ===");
+        sender.sendMessage("§7Cinemáticas: §f" + gestor.getCinematicas().size() +
+                " §7- en reproducción: §f" + gestor.getCinematicasEnProgreso().size());
+        sender.sendMessage("§7Envío: §f" + reproductor.getDespachador().obtenerEstadisticas());
+        sender.sendMessage("§7Tasa: §f" + reproductor.getGobernador().obtenerEstado());
+        sender.sendMessage("§7" + gestor.getCacheLineas().obtenerEstadisticas());
+    }
+
     private void listarCinematicas(CommandSender sender) {
         var cinematicas = plugin.getGestorCinematicas().getCinematicas();
 
@@ -502,6 +764,47 @@ public class CinematicaComando implements CommandExecutor {
         }
     }
 
+    private void compactarCinematica(CommandSender sender, String nombre, String toleranciaTexto) {
+        var gestor = plugin.getGestorCinematicas();
+        var cinematica = gestor.getCinematicas().get(nombre);
+
+        if (cinematica == null) {
+            if (sender instanceof Player) {
+                plugin.enviarMensaje((Player) sender, "<red>La cinemática '<white>" + nombre + "<red>' no existe.");
+            } else {
+                sender.sendMessage("§cLa cinemática '" + nombre + "' no existe.");
+            }
+            return;
+        }
+
+        Double tolerancia = null;
+        if (toleranciaTexto != null) {
+            try {
+                tolerancia = Double.parseDouble(toleranciaTexto);
+            } catch (NumberFormatException e) {
+                tolerancia = -1.0;
+            }
+            if (tolerancia <= 0) {
+                if (sender instanceof Player) {
+                    plugin.enviarMensaje((Player) sender, "<red>La tolerancia debe ser un número mayor que 0 (bloques)");
+                } else {
+                    sender.sendMessage("§cLa tolerancia debe ser un número mayor que 0 (bloques)");
+                }
+                return;
+            }
+        }
+
+        int antes = cinematica.getFrames().size();
+        int despues = gestor.compactarCinematica(nombre, tolerancia);
+
+        if (sender instanceof Player) {
+            plugin.enviarMensaje((Player) sender, "<green>Cinemática '<white>" + nombre + "<green>' compactada: <white>" +
+                    antes + "<green> → <white>" + despues + "<green> frames.");
+        } else {
+            sender.sendMessage("§aCinemática '" + nombre + "' compactada: " + antes + " → " + despues + " frames.");
+        }
+    }
+
     private void recargarPlugin(CommandSender sender) {
         try {
             plugin.cargarConfiguracion();
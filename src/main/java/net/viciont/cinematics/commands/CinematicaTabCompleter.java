@@ -32,14 +32,18 @@ public class CinematicaTabCompleter implements TabCompleter {
             // Subcomandos principales
             List<String> subcomandos = Arrays.asList(
                     "help", "record", "stop", "cut", "playcut", "static",
-                    "play", "list", "delete", "clone", "reload", "forcestop"
+                    "play", "list", "delete", "clone", "reload", "forcestop",
+                    "pause", "resume", "seek", "debug", "queue", "stats", "compact"
             );
 
             for (String subcomando : subcomandos) {
                 if (subcomando.toLowerCase().startsWith(args[0].toLowerCase())) {
                     // Verificar permisos
                     if (subcomando.equals("delete") || subcomando.equals("clone") ||
-                            subcomando.equals("reload") || subcomando.equals("forcestop")) {
+                            subcomando.equals("reload") || subcomando.equals("forcestop") ||
+                            subcomando.equals("pause") || subcomando.equals("resume") || subcomando.equals("seek") ||
+                            subcomando.equals("debug") || subcomando.equals("queue") || subcomando.equals("stats") ||
+                            subcomando.equals("compact")) {
                         if (sender.hasPermission("viciont.cinematics.admin")) {
                             completions.add(subcomando);
                         }
@@ -68,7 +72,7 @@ public class CinematicaTabCompleter implements TabCompleter {
                     }
                 }
                 // Nombres de jugadores
-                case "delete", "clone" -> {
+                case "delete", "clone", "compact" -> {
                     // Nombres de cinemáticas existentes
                     if (sender.hasPermission("viciont.cinematics.admin")) {
                         for (String nombre : plugin.getGestorCinematicas().getCinematicas().keySet()) {
@@ -97,6 +101,16 @@ public class CinematicaTabCompleter implements TabCompleter {
                         }
                     }
                 }
+                case "pause", "resume", "seek", "debug" -> {
+                    // Jugadores que están viendo una cinemática
+                    var gestor = plugin.getGestorCinematicas();
+                    for (Player jugador : Bukkit.getOnlinePlayers()) {
+                        if (gestor.estaEnCinematica(jugador)
+                                && jugador.getName().toLowerCase().startsWith(args[1].toLowerCase())) {
+                            completions.add(jugador.getName());
+                        }
+                    }
+                }
                 case "addsound" -> {
                     if (args.length == 2) {
                         // Nombres de cinemáticas
@@ -156,6 +170,10 @@ public class CinematicaTabCompleter implements TabCompleter {
                     // Duración en ticks
                     completions.add("<ticks>");
                 }
+                case "seek" -> {
+                    // Posición en segundos
+                    completions.add("<segundos>");
+                }
             }
         } else if (args.length > 3 && args[0].equalsIgnoreCase("play")) {
             // Más cinemáticas para reproducir
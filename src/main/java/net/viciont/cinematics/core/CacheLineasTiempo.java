@@ -0,0 +1,180 @@
+package net.viciont.cinematics.core;
+
+import net.viciont.cinematics.core.InterpoladorFrames.TipoInterpolacion;
+import net.viciont.cinematics.objects.Cinematica;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Caché LRU de líneas de tiempo compiladas con presupuesto de memoria
+ * La clave incluye todo lo que cambia el resultado de la interpolación, así que cambiar la
+ * configuración no devuelve líneas viejas: quedan sin usar y salen por antigüedad
+ *
+ * @author CrissyjuanxD
+ */
+public class CacheLineasTiempo {
+
+    // En orden de acceso: la primera entrada es la menos usada recientemente
+    private final LinkedHashMap<Clave, Entrada> entradas = new LinkedHashMap<>(16, 0.75f, true);
+
+    private long presupuestoBytes;
+    private long bytesUsados = 0;
+
+    private long aciertos = 0;
+    private long fallos = 0;
+    private long descartes = 0;
+
+    public CacheLineasTiempo(long presupuestoBytes) {
+        this.presupuestoBytes = presupuestoBytes;
+    }
+
+    /**
+     * Obtiene una línea de tiempo si está en caché y corresponde a la cinemática actual
+     */
+    public synchronized LineaTiempo obtener(Clave clave, Cinematica cinematica) {
+        Entrada entrada = entradas.get(clave);
+        if (entrada != null && entrada.linea.esValidaPara(cinematica)) {
+            aciertos++;
+            return entrada.linea;
+        }
+
+        if (entrada != null) {
+            // Misma clave pero otra instancia de la cinemática (recargada desde disco)
+            quitarEntrada(clave);
+        }
+        fallos++;
+        return null;
+    }
+
+    /**
+     * Guarda una línea de tiempo y descarta las menos usadas hasta entrar en el presupuesto
+     */
+    public synchronized void guardar(Clave clave, LineaTiempo linea) {
+        quitarEntrada(clave);
+
+        long bytes = linea.estimarBytes();
+        entradas.put(clave, new Entrada(linea, bytes));
+        bytesUsados += bytes;
+
+        Iterator<Map.Entry<Clave, Entrada>> iterador = entradas.entrySet().iterator();
+        while (bytesUsados > presupuestoBytes && iterador.hasNext()) {
+            Entrada antigua = iterador.next().getValue();
+            iterador.remove();
+            bytesUsados -= antigua.bytes;
+            descartes++;
+        }
+    }
+
+    /**
+     * Verifica si una clave ya está en caché sin contar acierto ni fallo
+     */
+    public synchronized boolean contiene(Clave clave) {
+        return entradas.containsKey(clave);
+    }
+
+    /**
+     * Quita todas las líneas de una cinemática
+     */
+    public synchronized void quitar(String nombre) {
+        entradas.entrySet().removeIf(entrada -> {
+            if (entrada.getKey().nombre.equals(nombre)) {
+                bytesUsados -= entrada.getValue().bytes;
+                return true;
+            }
+            return false;
+        });
+    }
+
+    private void quitarEntrada(Clave clave) {
+        Entrada anterior = entradas.remove(clave);
+        if (anterior != null) {
+            bytesUsados -= anterior.bytes;
+        }
+    }
+
+    public synchronized void limpiar() {
+        entradas.clear();
+        bytesUsados = 0;
+    }
+
+    /**
+     * Cambia el presupuesto; las entradas sobrantes salen en el próximo guardado
+     */
+    public synchronized void setPresupuestoBytes(long presupuestoBytes) {
+        this.presupuestoBytes = presupuestoBytes;
+    }
+
+    /**
+     * Obtiene los contadores de la caché
+     */
+    public synchronized String obtenerEstadisticas() {
+        long total = aciertos + fallos;
+        return String.format("Caché de líneas de tiempo: %d entradas, %.1f/%.1f MB, aciertos %d, fallos %d (%.1f%%), descartes %d",
+                entradas.size(), bytesUsados / 1048576.0, presupuestoBytes / 1048576.0,
+                aciertos, fallos, total == 0 ? 0.0 : aciertos * 100.0 / total, descartes);
+    }
+
+    public synchronized long getAciertos() {
+        return aciertos;
+    }
+
+    public synchronized long getFallos() {
+        return fallos;
+    }
+
+    public synchronized long getDescartes() {
+        return descartes;
+    }
+
+    public synchronized long getBytesUsados() {
+        return bytesUsados;
+    }
+
+    private static class Entrada {
+        private final LineaTiempo linea;
+        private final long bytes;
+
+        private Entrada(LineaTiempo linea, long bytes) {
+            this.linea = linea;
+            this.bytes = bytes;
+        }
+    }
+
+    /**
+     * Todo lo que determina el resultado de compilar una cinemática
+     * El tipo es null cuando no se interpola (sistema legacy)
+     */
+    public static class Clave {
+        private final String nombre;
+        private final int version;
+        private final TipoInterpolacion tipo;
+        private final int fps;
+        private final double suavizado;
+        private final boolean precalculada;
+
+        public Clave(String nombre, int version, TipoInterpolacion tipo, int fps, double suavizado, boolean precalculada) {
+            this.nombre = nombre;
+            this.version = version;
+            this.tipo = tipo;
+            this.fps = fps;
+            this.suavizado = suavizado;
+            this.precalculada = precalculada;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Clave otra)) return false;
+            return version == otra.version && fps == otra.fps && Double.compare(suavizado, otra.suavizado) == 0
+                    && precalculada == otra.precalculada && tipo == otra.tipo && nombre.equals(otra.nombre);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(nombre, version, tipo, fps, suavizado, precalculada);
+        }
+    }
+}
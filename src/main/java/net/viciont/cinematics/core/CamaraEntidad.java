@@ -0,0 +1,115 @@
+package net.viciont.cinematics.core;
+
+import org.bukkit.Bukkit;
+import org.bukkit.GameMode;
+import org.bukkit.Location;
+import org.bukkit.entity.ItemDisplay;
+import org.bukkit.entity.Player;
+
+import java.util.Collection;
+import java.util.UUID;
+
+/**
+ * Cámara basada en una entidad de display que los espectadores siguen con setSpectatorTarget
+ * El servidor mueve la entidad una vez por tick y el cliente interpola el movimiento
+ * gracias a teleport_duration, en lugar de teletransportar a cada jugador en cada frame
+ *
+ * @author CrissyjuanxD
+ */
+public class CamaraEntidad {
+
+    // Distancia máxima (al cuadrado) para que el cliente ya conozca la entidad
+    private static final double DISTANCIA_VINCULO_CUADRADA = 48.0 * 48.0;
+
+    private final int duracionTeleport;
+    private ItemDisplay entidad;
+    private int ticksVida = 0;
+
+    private CamaraEntidad(int duracionTeleport) {
+        this.duracionTeleport = duracionTeleport;
+    }
+
+    /**
+     * Crea una cámara en la ubicación indicada
+     */
+    public static CamaraEntidad crear(Location inicio, int duracionTeleport) {
+        CamaraEntidad camara = new CamaraEntidad(Math.max(0, Math.min(59, duracionTeleport)));
+        camara.generar(inicio);
+        return camara;
+    }
+
+    private void generar(Location ubicacion) {
+        this.entidad = ubicacion.getWorld().spawn(ubicacion, ItemDisplay.class, display -> {
+            display.setPersistent(false);
+            display.setTeleportDuration(duracionTeleport);
+        });
+        this.ticksVida = 0;
+    }
+
+    /**
+     * Mueve la cámara; el cliente interpola hasta el destino durante teleport_duration
+     */
+    public void mover(Location destino) {
+        if (entidad == null || !entidad.isValid() || entidad.getWorld() != destino.getWorld()) {
+            eliminar();
+            generar(destino);
+            return;
+        }
+
+        entidad.teleport(destino);
+        ticksVida++;
+    }
+
+    /**
+     * Hace que el jugador vea a través de la cámara
+     * Si el cliente aún no puede conocer la entidad, primero se acerca al jugador y se vincula en el siguiente tick
+     */
+    public void vincular(Player jugador) {
+        if (entidad == null || jugador.getSpectatorTarget() == entidad) {
+            return;
+        }
+
+        if (jugador.getGameMode() != GameMode.SPECTATOR) {
+            return;
+        }
+
+        Location ubicacionJugador = jugador.getLocation();
+        Location ubicacionCamara = entidad.getLocation();
+        if (ubicacionJugador.getWorld() != ubicacionCamara.getWorld()
+                || ubicacionJugador.distanceSquared(ubicacionCamara) > DISTANCIA_VINCULO_CUADRADA) {
+            jugador.teleport(ubicacionCamara);
+            return;
+        }
+
+        // La entidad se envía al cliente al final del tick en que se genera
+        if (ticksVida > 0) {
+            jugador.setSpectatorTarget(entidad);
+        }
+    }
+
+    /**
+     * Devuelve la vista propia a los jugadores que estén siguiendo esta cámara
+     */
+    public void liberar(Collection<UUID> jugadores) {
+        if (entidad == null) {
+            return;
+        }
+
+        for (UUID uuid : jugadores) {
+            Player jugador = Bukkit.getPlayer(uuid);
+            if (jugador != null && jugador.getSpectatorTarget() == entidad) {
+                jugador.setSpectatorTarget(null);
+            }
+        }
+    }
+
+    /**
+     * Elimina la entidad de la cámara
+     */
+    public void eliminar() {
+        if (entidad != null) {
+            entidad.remove();
+            entidad = null;
+        }
+    }
+}
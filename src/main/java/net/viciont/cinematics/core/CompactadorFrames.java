@@ -0,0 +1,180 @@
+package net.viciont.cinematics.core;
+
+import net.viciont.cinematics.objects.Frame;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Reduce los frames guardados de una cinemática con Ramer-Douglas-Peucker en 5 dimensiones
+ * (posición, yaw y pitch) y error sincronizado en el tiempo: cada frame descartado queda a menos
+ * de la tolerancia de la pose que se reconstruye en su mismo tick, así que la reproducción dura
+ * lo mismo y los sonidos y eventos siguen en su tick
+ * Los frames conservados guardan su tick de grabación; al compilar se expanden de nuevo a un frame por tick
+ *
+ * @author CrissyjuanxD
+ */
+public class CompactadorFrames {
+
+    private final double toleranciaPosicion;
+    private final double toleranciaAngulo;
+
+    /**
+     * @param toleranciaPosicion desviación máxima de la posición, en bloques
+     * @param toleranciaAngulo desviación máxima del yaw y el pitch, en grados
+     */
+    public CompactadorFrames(double toleranciaPosicion, double toleranciaAngulo) {
+        this.toleranciaPosicion = Math.max(1.0e-6, toleranciaPosicion);
+        this.toleranciaAngulo = Math.max(1.0e-6, toleranciaAngulo);
+    }
+
+    /**
+     * Compacta una lista de frames; si ya estaba compactada se mide contra su reconstrucción
+     *
+     * @return frames conservados, cada uno con su tick
+     */
+    public List<Frame> compactar(List<Frame> frames) {
+        List<Frame> porTick = expandir(frames);
+        int total = porTick.size();
+        boolean[] conservar = new boolean[total];
+
+        if (total > 0) {
+            conservar[0] = true;
+            conservar[total - 1] = true;
+        }
+
+        // Cada cambio de mundo conserva el último frame de un mundo y el primero del siguiente
+        int inicioTramo = 0;
+        for (int i = 1; i <= total; i++) {
+            if (i == total || !porTick.get(i).getMundo().equals(porTick.get(i - 1).getMundo())) {
+                conservar[inicioTramo] = true;
+                conservar[i - 1] = true;
+                reducir(porTick, inicioTramo, i - 1, conservar);
+                inicioTramo = i;
+            }
+        }
+
+        List<Frame> compactados = new ArrayList<>();
+        for (int i = 0; i < total; i++) {
+            if (conservar[i]) {
+                Frame frame = porTick.get(i).clonar();
+                frame.setTick(i);
+                compactados.add(frame);
+            }
+        }
+        return compactados;
+    }
+
+    /**
+     * Marca los frames de [desde, hasta] necesarios para no superar la tolerancia
+     * Usa una pila propia en lugar de recursión: una grabación larga podría desbordar la del hilo
+     */
+    private void reducir(List<Frame> frames, int desde, int hasta, boolean[] conservar) {
+        int[] pila = new int[64];
+        int cima = 0;
+        pila[cima++] = desde;
+        pila[cima++] = hasta;
+
+        while (cima > 0) {
+            int b = pila[--cima];
+            int a = pila[--cima];
+            if (b - a < 2) {
+                continue;
+            }
+
+            Frame inicio = frames.get(a);
+            Frame fin = frames.get(b);
+            double peor = 1.0;
+            int indicePeor = -1;
+            for (int i = a + 1; i < b; i++) {
+                double error = errorRelativo(inicio, fin, (double) (i - a) / (b - a), frames.get(i));
+                if (error > peor) {
+                    peor = error;
+                    indicePeor = i;
+                }
+            }
+
+            if (indicePeor < 0) {
+                continue;
+            }
+
+            conservar[indicePeor] = true;
+            if (cima + 4 > pila.length) {
+                pila = Arrays.copyOf(pila, pila.length * 2);
+            }
+            pila[cima++] = a;
+            pila[cima++] = indicePeor;
+            pila[cima++] = indicePeor;
+            pila[cima++] = b;
+        }
+    }
+
+    /**
+     * Desviación del frame real respecto a la pose reconstruida en su tick, en múltiplos de la tolerancia
+     * (mayor que 1 significa que el frame debe conservarse)
+     */
+    private double errorRelativo(Frame inicio, Frame fin, double t, Frame real) {
+        double dx = inicio.getX() + (fin.getX() - inicio.getX()) * t - real.getX();
+        double dy = inicio.getY() + (fin.getY() - inicio.getY()) * t - real.getY();
+        double dz = inicio.getZ() + (fin.getZ() - inicio.getZ()) * t - real.getZ();
+        double errorPosicion = Math.sqrt(dx * dx + dy * dy + dz * dz) / toleranciaPosicion;
+
+        double errorYaw = Math.abs(diferenciaAngulo(interpolarAngulo(inicio.getYaw(), fin.getYaw(), t), real.getYaw()));
+        double errorPitch = Math.abs(real.getPitch() - (inicio.getPitch() + (fin.getPitch() - inicio.getPitch()) * t));
+        double errorAngulo = Math.max(errorYaw, errorPitch) / toleranciaAngulo;
+
+        return Math.max(errorPosicion, errorAngulo);
+    }
+
+    /**
+     * Expande frames compactados a un frame por tick interpolando linealmente entre los conservados
+     * (el yaw por el camino más corto); una lista sin compactar se devuelve tal cual
+     */
+    public static List<Frame> expandir(List<Frame> frames) {
+        if (frames.isEmpty() || frames.get(0).getTick() == null) {
+            return frames;
+        }
+
+        Frame ultimo = frames.get(frames.size() - 1);
+        List<Frame> porTick = new ArrayList<>(ultimo.getTick() + 1);
+        for (int i = 0; i + 1 < frames.size(); i++) {
+            Frame a = frames.get(i);
+            Frame b = frames.get(i + 1);
+            int ticks = b.getTick() - a.getTick();
+            boolean mismoMundo = a.getMundo().equals(b.getMundo());
+
+            porTick.add(a);
+            for (int j = 1; j < ticks; j++) {
+                if (!mismoMundo) {
+                    // Cambio de mundo: se mantiene la pose de origen hasta el salto
+                    porTick.add(a);
+                    continue;
+                }
+                double t = (double) j / ticks;
+                porTick.add(new Frame(a.getMundo(),
+                        a.getX() + (b.getX() - a.getX()) * t,
+                        a.getY() + (b.getY() - a.getY()) * t,
+                        a.getZ() + (b.getZ() - a.getZ()) * t,
+                        (float) interpolarAngulo(a.getYaw(), b.getYaw(), t),
+                        (float) (a.getPitch() + (b.getPitch() - a.getPitch()) * t)));
+            }
+        }
+        porTick.add(ultimo);
+        return porTick;
+    }
+
+    private static double interpolarAngulo(float a, float b, double t) {
+        return a + diferenciaAngulo(b, a) * t;
+    }
+
+    /**
+     * Diferencia a - b por el camino más corto, entre -180 y 180
+     */
+    private static double diferenciaAngulo(double a, double b) {
+        double diferencia = (a - b) % 360;
+        if (diferencia > 180) diferencia -= 360;
+        if (diferencia < -180) diferencia += 360;
+        return diferencia;
+    }
+}
@@ -0,0 +1,249 @@
+package net.viciont.cinematics.core;
+
+import net.viciont.cinematics.ViciontCinematics;
+import org.bukkit.configuration.file.FileConfiguration;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.UUID;
+
+/**
+ * Control de admisión de reproducciones
+ * Limita las sesiones simultáneas, los espectadores totales y las actualizaciones de cámara por tick;
+ * las solicitudes que no caben esperan en una cola (FIFO o por prioridad) en lugar de hundir el TPS
+ *
+ * @author CrissyjuanxD
+ */
+public class ControlAdmision {
+
+    private final ViciontCinematics plugin;
+
+    private boolean habilitado;
+    private int maxSesiones;
+    private int maxEspectadores;
+    private int maxActualizacionesTick;
+    private int maxCola;
+    private long esperaMaximaMs;
+    private ModoCola modo;
+
+    private PriorityQueue<SolicitudReproduccion> cola;
+    private long contadorSolicitudes = 0;
+
+    public ControlAdmision(ViciontCinematics plugin) {
+        this.plugin = plugin;
+        cargarConfiguracion();
+    }
+
+    /**
+     * Carga los límites desde la configuración, conservando las solicitudes en espera
+     */
+    public synchronized void cargarConfiguracion() {
+        FileConfiguration config = plugin.getConfig();
+
+        this.habilitado = config.getBoolean("performance.admission.enabled", true);
+        this.maxSesiones = config.getInt("performance.admission.max_sessions", 10);
+        this.maxEspectadores = config.getInt("performance.admission.max_viewers", 200);
+        this.maxActualizacionesTick = config.getInt("performance.admission.max_updates_per_tick", 400);
+        this.maxCola = config.getInt("performance.admission.max_queue", 50);
+        this.esperaMaximaMs = config.getLong("performance.admission.max_wait_seconds", 300L) * 1000L;
+
+        String modoStr = config.getString("performance.admission.queue_mode", "FIFO").toUpperCase();
+        try {
+            this.modo = ModoCola.valueOf(modoStr);
+        } catch (IllegalArgumentException e) {
+            this.modo = ModoCola.FIFO;
+            plugin.getLogger().warning("Modo de cola inválido: " + modoStr + ", usando FIFO");
+        }
+
+        Comparator<SolicitudReproduccion> orden = Comparator.comparingLong(SolicitudReproduccion::getOrden);
+        if (modo == ModoCola.PRIORITY) {
+            orden = Comparator.comparingInt(SolicitudReproduccion::getPrioridad).reversed().thenComparing(orden);
+        }
+
+        PriorityQueue<SolicitudReproduccion> nuevaCola = new PriorityQueue<>(orden);
+        if (cola != null) {
+            nuevaCola.addAll(cola);
+        }
+        this.cola = nuevaCola;
+    }
+
+    /**
+     * Verifica si una solicitud cabe en el presupuesto actual
+     *
+     * @param uso uso actual del servidor
+     * @param nuevaSesion si la solicitud crea una sesión o se une a una existente
+     */
+    public boolean cabe(Uso uso, int espectadores, int actualizaciones, boolean nuevaSesion) {
+        if (!habilitado || uso.getSesiones() == 0) {
+            // Sin nada reproduciéndose se admite siempre, aunque supere los límites por sí sola
+            return true;
+        }
+
+        return (!nuevaSesion || uso.getSesiones() + 1 <= maxSesiones)
+                && uso.getEspectadores() + espectadores <= maxEspectadores
+                && uso.getActualizaciones() + actualizaciones <= maxActualizacionesTick;
+    }
+
+    /**
+     * Verifica si una solicitud supera por sí sola los límites de espectadores o de actualizaciones
+     * Solo cabría sin nada reproduciéndose, así que no se pone en la cola para no bloquear a las demás
+     */
+    public boolean superaLimites(int espectadores, int actualizaciones) {
+        return habilitado && (espectadores > maxEspectadores || actualizaciones > maxActualizacionesTick);
+    }
+
+    /**
+     * Pone una solicitud en la cola
+     *
+     * @return false si la cola está llena
+     */
+    public synchronized boolean encolar(List<UUID> jugadores, String[] nombres, int prioridad) {
+        if (cola.size() >= maxCola) {
+            return false;
+        }
+
+        cola.add(new SolicitudReproduccion(new ArrayList<>(jugadores), nombres, prioridad,
+                contadorSolicitudes++, System.currentTimeMillis()));
+        return true;
+    }
+
+    /**
+     * Obtiene la siguiente solicitud de la cola sin sacarla, descartando las caducadas
+     */
+    public synchronized SolicitudReproduccion siguiente() {
+        long ahora = System.currentTimeMillis();
+        SolicitudReproduccion siguiente;
+        while ((siguiente = cola.peek()) != null) {
+            if (siguiente.getJugadores().isEmpty() || ahora - siguiente.getInstante() > esperaMaximaMs) {
+                cola.poll();
+                plugin.getLogger().info("Solicitud de reproducción descartada de la cola: " + String.join(", ", siguiente.getNombres()));
+                continue;
+            }
+            return siguiente;
+        }
+        return null;
+    }
+
+    /**
+     * Saca de la cola la solicitud indicada
+     */
+    public synchronized void quitar(SolicitudReproduccion solicitud) {
+        cola.remove(solicitud);
+    }
+
+    /**
+     * Quita jugadores de las solicitudes en espera; las que se quedan vacías se descartan
+     *
+     * @return true si algún jugador estaba en la cola
+     */
+    public synchronized boolean quitarJugadores(Collection<UUID> jugadores) {
+        boolean alguno = false;
+        for (SolicitudReproduccion solicitud : cola) {
+            alguno |= solicitud.getJugadores().removeAll(jugadores);
+        }
+        cola.removeIf(solicitud -> solicitud.getJugadores().isEmpty());
+        return alguno;
+    }
+
+    /**
+     * Obtiene las solicitudes en el orden en que se atenderán
+     */
+    public synchronized List<SolicitudReproduccion> obtenerCola() {
+        List<SolicitudReproduccion> ordenada = new ArrayList<>(cola);
+        ordenada.sort(cola.comparator());
+        return ordenada;
+    }
+
+    public synchronized boolean hayEspera() {
+        return !cola.isEmpty();
+    }
+
+    /**
+     * Obtiene el presupuesto configurado
+     */
+    public String obtenerLimites() {
+        return String.format("Sesiones: %d, espectadores: %d, actualizaciones/tick: %d, cola: %d (%s)",
+                maxSesiones, maxEspectadores, maxActualizacionesTick, maxCola, modo);
+    }
+
+    public boolean isHabilitado() {
+        return habilitado;
+    }
+
+    /**
+     * Uso actual del servidor frente al presupuesto
+     */
+    public static class Uso {
+        private final int sesiones;
+        private final int espectadores;
+        private final int actualizaciones;
+
+        public Uso(int sesiones, int espectadores, int actualizaciones) {
+            this.sesiones = sesiones;
+            this.espectadores = espectadores;
+            this.actualizaciones = actualizaciones;
+        }
+
+        public int getSesiones() {
+            return sesiones;
+        }
+
+        public int getEspectadores() {
+            return espectadores;
+        }
+
+        public int getActualizaciones() {
+            return actualizaciones;
+        }
+    }
+
+    /**
+     * Modos de ordenar la cola de espera
+     */
+    public enum ModoCola {
+        FIFO,     // Por orden de llegada
+        PRIORITY  // Por prioridad y, a igual prioridad, por orden de llegada
+    }
+
+    /**
+     * Solicitud de reproducción en espera
+     */
+    public static class SolicitudReproduccion {
+        private final List<UUID> jugadores;
+        private final String[] nombres;
+        private final int prioridad;
+        private final long orden;
+        private final long instante;
+
+        private SolicitudReproduccion(List<UUID> jugadores, String[] nombres, int prioridad, long orden, long instante) {
+            this.jugadores = jugadores;
+            this.nombres = nombres;
+            this.prioridad = prioridad;
+            this.orden = orden;
+            this.instante = instante;
+        }
+
+        public List<UUID> getJugadores() {
+            return jugadores;
+        }
+
+        public String[] getNombres() {
+            return nombres;
+        }
+
+        public int getPrioridad() {
+            return prioridad;
+        }
+
+        public long getOrden() {
+            return orden;
+        }
+
+        public long getInstante() {
+            return instante;
+        }
+    }
+}
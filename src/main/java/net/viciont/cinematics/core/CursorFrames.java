@@ -0,0 +1,66 @@
+package net.viciont.cinematics.core;
+
+import org.bukkit.World;
+
+/**
+ * Cursor sobre los frames de una línea de tiempo
+ * Guarda solo la muestra actual, evaluada bajo demanda al moverse: la memoria de cada
+ * reproducción no depende de la duración de la cinemática
+ *
+ * @author CrissyjuanxD
+ */
+public class CursorFrames {
+
+    private final LineaTiempo linea;
+    private final PistasPose muestra = new PistasPose(1);
+    private int frame = -1;
+
+    CursorFrames(LineaTiempo linea) {
+        this.linea = linea;
+    }
+
+    /**
+     * Coloca el cursor en un frame; si ya estaba en él no vuelve a evaluarlo
+     */
+    public void mover(int nuevoFrame) {
+        if (nuevoFrame != frame) {
+            linea.leer(nuevoFrame, muestra, 0);
+            frame = nuevoFrame;
+        }
+    }
+
+    /**
+     * Obtiene el mundo del frame actual, o null si no está cargado
+     */
+    public World getMundo() {
+        return linea.obtenerMundoPorIndice(muestra.getMundo(0));
+    }
+
+    public LineaTiempo getLinea() {
+        return linea;
+    }
+
+    public int getFrame() {
+        return frame;
+    }
+
+    public double getX() {
+        return muestra.getX(0);
+    }
+
+    public double getY() {
+        return muestra.getY(0);
+    }
+
+    public double getZ() {
+        return muestra.getZ(0);
+    }
+
+    public float getYaw() {
+        return muestra.getYaw(0);
+    }
+
+    public float getPitch() {
+        return muestra.getPitch(0);
+    }
+}
@@ -0,0 +1,168 @@
+package net.viciont.cinematics.core;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Curva de cámara preparada a partir de los fotogramas clave de una cinemática
+ * Guarda las claves, su ritmo de grabación y, para CATMULL_ROM, las splines de cada tramo del mismo
+ * mundo; es inmutable, así que puede evaluarse desde varios hilos
+ * La pose se obtiene para cualquier instante en segundos: el ritmo de muestreo solo decide qué instante
+ * corresponde a cada índice, así que la duración no depende de los FPS de salida
+ *
+ * @author CrissyjuanxD
+ */
+public class CurvaCamara {
+
+    private final NucleoInterpolacion nucleo;
+    private final PistasPose claves;
+    private final double clavesPorSegundo;
+    private final double muestrasPorSegundo;
+    private final int total;
+
+    // Spline del tramo al que pertenece cada clave (null si no hay splines o el tramo es de una sola clave)
+    final SplineCentripeta[] splinePorClave;
+    // Primera clave del tramo de cada clave (de ella sale el segmento dentro de su spline)
+    final int[] inicioTramo;
+
+    CurvaCamara(NucleoInterpolacion nucleo, PistasPose claves, double clavesPorSegundo, double muestrasPorSegundo,
+                SplineCentripeta[] splinePorClave, int[] inicioTramo) {
+        this.nucleo = nucleo;
+        this.claves = claves;
+        this.clavesPorSegundo = clavesPorSegundo;
+        this.muestrasPorSegundo = muestrasPorSegundo;
+        int n = claves.getTamano();
+        this.total = n < 2 ? n : (int) Math.floor((n - 1) * muestrasPorSegundo / clavesPorSegundo + 1.0e-9) + 1;
+        this.splinePorClave = splinePorClave;
+        this.inicioTramo = inicioTramo;
+    }
+
+    /**
+     * Escribe la pose en un instante (segundos desde la primera clave) en la posición indicada de la salida
+     */
+    public void pose(double segundos, PistasPose salida, int destino) {
+        nucleo.evaluar(this, segundos * clavesPorSegundo, salida, destino);
+    }
+
+    /**
+     * Escribe la muestra k de la curva en la posición indicada de la salida
+     */
+    public void muestra(int k, PistasPose salida, int destino) {
+        nucleo.evaluar(this, posicionMuestra(k), salida, destino);
+    }
+
+    /**
+     * Escribe las muestras [desde, hasta) en su misma posición de la salida
+     */
+    public void muestras(int desde, int hasta, PistasPose salida) {
+        nucleo.muestras(this, desde, hasta, salida);
+    }
+
+    /**
+     * Posición continua sobre las claves de la muestra k (clave + fracción)
+     */
+    double posicionMuestra(int k) {
+        // Multiplicar antes de dividir mantiene exactas las muestras que caen sobre una clave
+        return k * clavesPorSegundo / muestrasPorSegundo;
+    }
+
+    /**
+     * Obtiene la primera muestra que se reproduce en o después de un instante
+     */
+    public int muestraDesde(double segundos) {
+        return (int) Math.ceil(segundos * muestrasPorSegundo - 1.0e-9);
+    }
+
+    /**
+     * Escribe todas las muestras en la salida, repartiendo los tramos en el ForkJoinPool común
+     * Cada muestra depende solo de las claves, así que los trozos escriben en rangos disjuntos
+     * Con un solo procesador se evalúa siempre de forma secuencial: el hilo que espera compite con el
+     * que trabaja y el precálculo tarda varias veces más
+     *
+     * @param umbral muestras por debajo de las cuales un trozo se evalúa de forma secuencial
+     */
+    public void muestrasEnParalelo(PistasPose salida, int umbral) {
+        if (umbral <= 0 || total <= umbral || Runtime.getRuntime().availableProcessors() < 2) {
+            muestras(0, total, salida);
+            return;
+        }
+        ForkJoinPool.commonPool().invoke(new TareaMuestras(this, salida, 0, total, umbral));
+    }
+
+    /**
+     * Estima la memoria de la curva: claves, índices de tramo y splines
+     */
+    public long estimarBytes() {
+        long bytes = claves.estimarBytes() + (long) inicioTramo.length * 4;
+        SplineCentripeta anterior = null;
+        for (SplineCentripeta spline : splinePorClave) {
+            if (spline != null && spline != anterior) {
+                bytes += spline.estimarBytes();
+                anterior = spline;
+            }
+        }
+        return bytes;
+    }
+
+    /**
+     * Obtiene el índice de mundo de la muestra k sin evaluarla
+     */
+    public int indiceMundo(int k) {
+        int i = (int) Math.min(posicionMuestra(k), claves.getTamano() - 1);
+        return claves.mundo[i];
+    }
+
+    /**
+     * Duración del recorrido entre la primera y la última clave, en segundos
+     */
+    public double getDuracion() {
+        return Math.max(0, claves.getTamano() - 1) / clavesPorSegundo;
+    }
+
+    public PistasPose getClaves() {
+        return claves;
+    }
+
+    public double getClavesPorSegundo() {
+        return clavesPorSegundo;
+    }
+
+    public double getMuestrasPorSegundo() {
+        return muestrasPorSegundo;
+    }
+
+    public int getTotal() {
+        return total;
+    }
+
+    /**
+     * Trozo de muestras que se divide por la mitad hasta quedar bajo el umbral
+     */
+    private static class TareaMuestras extends RecursiveAction {
+        private final CurvaCamara curva;
+        private final PistasPose salida;
+        private final int desde;
+        private final int hasta;
+        private final int umbral;
+
+        private TareaMuestras(CurvaCamara curva, PistasPose salida, int desde, int hasta, int umbral) {
+            this.curva = curva;
+            this.salida = salida;
+            this.desde = desde;
+            this.hasta = hasta;
+            this.umbral = umbral;
+        }
+
+        @Override
+        protected void compute() {
+            if (hasta - desde <= umbral) {
+                curva.muestras(desde, hasta, salida);
+                return;
+            }
+
+            int mitad = (desde + hasta) >>> 1;
+            invokeAll(new TareaMuestras(curva, salida, desde, mitad, umbral),
+                    new TareaMuestras(curva, salida, mitad, hasta, umbral));
+        }
+    }
+}
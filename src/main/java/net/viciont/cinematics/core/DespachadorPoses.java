@@ -0,0 +1,318 @@
+package net.viciont.cinematics.core;
+
+import net.viciont.cinematics.ViciontCinematics;
+import org.bukkit.Bukkit;
+import org.bukkit.World;
+import org.bukkit.configuration.file.FileConfiguration;
+import org.bukkit.entity.Player;
+
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Despachador de poses de cámara por jugador
+ * La reproducción escribe la última pose pendiente de cada jugador y el hilo principal
+ * la aplica una sola vez por tick; las poses sobrescritas antes de aplicarse se cuentan como coalescidas
+ * Con un límite por tick la cola es FIFO: los jugadores que no entraron en el lote de un tick
+ * conservan su turno y son los primeros del siguiente, así nadie se queda sin actualizar
+ * Cada jugador recibe además una tasa propia según su ping y su atraso: a los que se quedan
+ * atrás se les retiene la pose hasta que toca, y solo reciben la más reciente
+ * El atraso es solo el de la conexión del jugador (su teleport anterior aún sin terminar); esperar
+ * turno por el límite del lote o por la propia tasa no cuenta
+ * Es seguro entre hilos: en Folia las reproducciones publican desde sus regiones
+ * Las ubicaciones de los teleports salen de un pool acotado y vuelven a él al terminar cada teleport
+ *
+ * @author CrissyjuanxD
+ */
+public class DespachadorPoses {
+
+    // Ticks entre dos evaluaciones de la tasa de cada jugador
+    private static final int TICKS_EVALUACION = 20;
+
+    private final ViciontCinematics plugin;
+    private final PlanificadorTareas planificador;
+
+    // Tasa adaptativa por jugador
+    private boolean tasaAdaptativa;
+    private long[] intervalosNanos;
+    private int pingAlto;
+    private int pingMuyAlto;
+    private int atrasosAltos;
+
+    // Ubicaciones reutilizables para los teleports
+    private PoolUbicaciones pool;
+
+    // Una ranura por jugador que se reutiliza durante toda la reproducción
+    private final Map<UUID, PosePendiente> ranuras = new HashMap<>();
+
+    // Orden de llegada de los jugadores con pose pendiente
+    private final ArrayDeque<UUID> cola = new ArrayDeque<>();
+
+    // Reloj propio del despachador, avanza en cada vaciado
+    private long tickActual = 0;
+
+    private long posesPublicadas = 0;
+    private long posesAplicadas = 0;
+    private long posesCoalescidas = 0;
+
+    // Ticks que tarda un frame en llegar a todos sus jugadores (espera de la pose más antigua del lote)
+    private long ultimoRepartoTicks = 0;
+    private long maxRepartoTicks = 0;
+
+    public DespachadorPoses(ViciontCinematics plugin) {
+        this.plugin = plugin;
+        this.planificador = plugin.getPlanificador();
+        cargarConfiguracion();
+    }
+
+    /**
+     * Carga la configuración de la tasa adaptativa por jugador
+     */
+    public void cargarConfiguracion() {
+        FileConfiguration config = plugin.getConfig();
+
+        this.tasaAdaptativa = config.getBoolean("performance.viewer_rate.enabled", true);
+        this.pingAlto = config.getInt("performance.viewer_rate.ping_high", 150);
+        this.pingMuyAlto = config.getInt("performance.viewer_rate.ping_very_high", 300);
+        this.atrasosAltos = Math.max(1, config.getInt("performance.viewer_rate.backlog_high", 3));
+
+        // Las ubicaciones en vuelo vuelven al pool anterior, que simplemente se descarta
+        this.pool = new PoolUbicaciones(config.getInt("performance.location_pool_size", 1000));
+
+        List<Integer> tasas = config.getIntegerList("performance.viewer_rate.levels_hz");
+        if (tasas.isEmpty()) {
+            tasas = List.of(20, 10, 5);
+        }
+        this.intervalosNanos = tasas.stream()
+                .mapToLong(hz -> hz >= 20 ? 0L : 1_000_000_000L / Math.max(1, hz))
+                .toArray();
+    }
+
+    /**
+     * Publica la pose más reciente de un jugador, sobrescribiendo la pendiente si la hay
+     */
+    public synchronized void publicar(UUID jugador, World mundo, double x, double y, double z, float yaw, float pitch) {
+        PosePendiente pose = ranuras.computeIfAbsent(jugador, uuid -> new PosePendiente());
+        if (pose.pendiente) {
+            // Conserva su turno en la cola; solo cambia la pose que se aplicará
+            posesCoalescidas++;
+        } else {
+            cola.addLast(jugador);
+            pose.tickPublicacion = tickActual;
+        }
+
+        pose.mundo = mundo;
+        pose.x = x;
+        pose.y = y;
+        pose.z = z;
+        pose.yaw = yaw;
+        pose.pitch = pitch;
+        pose.pendiente = true;
+        posesPublicadas++;
+    }
+
+    /**
+     * Registra frames que se saltaron sin llegar a publicarse (el cursor avanzó varios frames en un tick)
+     */
+    public synchronized void registrarCoalescidas(long cantidad) {
+        if (cantidad > 0) {
+            posesCoalescidas += cantidad;
+        }
+    }
+
+    /**
+     * Aplica las poses pendientes en orden de llegada; se llama una vez al final de cada tick
+     *
+     * @param limite máximo de actualizaciones en este tick (0 o menos = sin límite)
+     */
+    public synchronized void vaciar(int limite) {
+        int aplicadas = 0;
+        long esperaMaxima = 0;
+        long ahora = System.nanoTime();
+        if (tasaAdaptativa && tickActual % TICKS_EVALUACION == 0) {
+            evaluarTasas();
+        }
+
+        // Cada entrada se mira como mucho una vez por tick, aunque se vuelva a encolar
+        int revisiones = cola.size();
+        while (revisiones-- > 0 && (limite <= 0 || aplicadas < limite)) {
+            UUID uuid = cola.pollFirst();
+            PosePendiente pose = ranuras.get(uuid);
+            if (pose == null || !pose.pendiente) {
+                continue;
+            }
+
+            Player jugador = Bukkit.getPlayer(uuid);
+            if (jugador == null || !jugador.isOnline()) {
+                pose.pendiente = false;
+                continue;
+            }
+
+            // Su teleport anterior aún no terminó: la conexión va atrasada y no se le apila otro
+            if (pose.enVuelo) {
+                pose.atrasos++;
+                retener(uuid, pose);
+                continue;
+            }
+
+            // Aún no le toca por su tasa: se retiene la pose y vuelve al final de la cola
+            if (ahora - pose.ultimoEnvioNanos < intervalosNanos[pose.nivelTasa]) {
+                retener(uuid, pose);
+                continue;
+            }
+
+            pose.pendiente = false;
+            pose.enVuelo = true;
+            pose.ultimoEnvioNanos = ahora;
+            planificador.teletransportar(jugador,
+                    pool.obtener(pose.mundo, pose.x, pose.y, pose.z, pose.yaw, pose.pitch), pool,
+                    () -> pose.enVuelo = false);
+            posesAplicadas++;
+            aplicadas++;
+            esperaMaxima = Math.max(esperaMaxima, tickActual - pose.tickPublicacion + 1);
+        }
+
+        if (aplicadas > 0) {
+            ultimoRepartoTicks = esperaMaxima;
+            maxRepartoTicks = Math.max(maxRepartoTicks, esperaMaxima);
+        }
+
+        tickActual++;
+    }
+
+    private void retener(UUID uuid, PosePendiente pose) {
+        pose.tickPublicacion = tickActual + 1;
+        cola.addLast(uuid);
+    }
+
+    /**
+     * Recalcula la tasa de todos los jugadores con ranura, estén o no en el lote de este tick
+     */
+    private void evaluarTasas() {
+        for (Map.Entry<UUID, PosePendiente> entrada : ranuras.entrySet()) {
+            Player jugador = Bukkit.getPlayer(entrada.getKey());
+            if (jugador != null && jugador.isOnline()) {
+                evaluarTasa(entrada.getValue(), jugador.getPing());
+            }
+        }
+    }
+
+    /**
+     * Recalcula la tasa de un jugador: el ping fija un mínimo y el atraso acumulado la baja
+     * un escalón; sin atraso se recupera de escalón en escalón
+     */
+    private void evaluarTasa(PosePendiente pose, int ping) {
+        int maximo = intervalosNanos.length - 1;
+        int nivelPing = ping >= pingMuyAlto ? 2 : ping >= pingAlto ? 1 : 0;
+
+        int nivel;
+        if (pose.atrasos >= atrasosAltos) {
+            nivel = pose.nivelTasa + 1;
+        } else if (pose.atrasos == 0) {
+            nivel = pose.nivelTasa - 1;
+        } else {
+            nivel = pose.nivelTasa;
+        }
+
+        pose.nivelTasa = Math.min(maximo, Math.max(nivelPing, Math.max(0, nivel)));
+        pose.ping = ping;
+        pose.atrasos = 0;
+    }
+
+    /**
+     * Obtiene la tasa de actualización de un jugador para debugging
+     */
+    public synchronized String obtenerEstadoJugador(UUID jugador) {
+        PosePendiente pose = ranuras.get(jugador);
+        if (pose == null) {
+            return "Sin ranura de pose (modo de cámara por entidad o sin frames enviados)";
+        }
+
+        long intervalo = intervalosNanos[pose.nivelTasa];
+        String tasa = intervalo == 0 ? "cada tick" : String.format("%.1f Hz", 1_000_000_000.0 / intervalo);
+        return String.format("Tasa: %s (nivel %d), ping: %d ms, atrasos: %d, pendiente: %s",
+                tasa, pose.nivelTasa, pose.ping, pose.atrasos, pose.pendiente);
+    }
+
+    /**
+     * Descarta las ranuras de los jugadores indicados para que ninguna pose pendiente
+     * los mueva después de haber sido restaurados
+     */
+    public synchronized void descartar(Collection<UUID> jugadores) {
+        for (UUID uuid : jugadores) {
+            ranuras.remove(uuid);
+        }
+    }
+
+    /**
+     * Descarta todas las ranuras
+     */
+    public synchronized void limpiar() {
+        ranuras.clear();
+        cola.clear();
+    }
+
+    /**
+     * Obtiene los contadores del despachador
+     */
+    public synchronized String obtenerEstadisticas() {
+        return String.format("Poses publicadas: %d, aplicadas: %d, coalescidas: %d, pendientes: %d, reparto: %d ticks (máx %d)",
+                posesPublicadas, posesAplicadas, posesCoalescidas, cola.size(), ultimoRepartoTicks, maxRepartoTicks)
+                + ", " + pool.obtenerEstadisticas();
+    }
+
+    public PoolUbicaciones getPool() {
+        return pool;
+    }
+
+    public long getPosesPublicadas() {
+        return posesPublicadas;
+    }
+
+    public long getPosesAplicadas() {
+        return posesAplicadas;
+    }
+
+    public long getPosesCoalescidas() {
+        return posesCoalescidas;
+    }
+
+    public int getPosesPendientes() {
+        return cola.size();
+    }
+
+    public long getUltimoRepartoTicks() {
+        return ultimoRepartoTicks;
+    }
+
+    public long getMaxRepartoTicks() {
+        return maxRepartoTicks;
+    }
+
+    /**
+     * Última pose pendiente de un jugador
+     */
+    private static class PosePendiente {
+        private World mundo;
+        private double x;
+        private double y;
+        private double z;
+        private float yaw;
+        private float pitch;
+        private boolean pendiente;
+        private long tickPublicacion;
+
+        // Tasa adaptativa: escalón actual, último envío y veces que su teleport anterior seguía en curso
+        private int nivelTasa;
+        private long ultimoEnvioNanos;
+        private int atrasos;
+        private int ping;
+
+        // Teleport lanzado y aún sin terminar; lo limpia el hilo que lo completa
+        private volatile boolean enVuelo;
+    }
+}
@@ -0,0 +1,232 @@
+package net.viciont.cinematics.core;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.DoubleUnaryOperator;
+
+/**
+ * Curva de easing precalculada en una tabla
+ * Evaluarla es una búsqueda y una interpolación lineal entre dos entradas, así que cuesta lo mismo
+ * una potencia que una cubic-bezier resuelta numéricamente
+ * Las curvas se piden por nombre ("ease-in-out-cubic") o como "cubic-bezier(x1, y1, x2, y2)",
+ * igual que en CSS; las tablas se comparten entre todas las cinemáticas que usan la misma curva
+ *
+ * @author CrissyjuanxD
+ */
+public class Easing {
+
+    // Sin tabla: devuelve t tal cual, así las claves y LINEAR no pierden precisión
+    public static final Easing LINEAL = new Easing("linear", null);
+
+    // Distancia relativa de los puntos de control de la curva de BEZIER
+    private static final double CONTROL_BEZIER = 0.33;
+
+    private static final Map<String, Easing> curvas = new ConcurrentHashMap<>();
+    private static volatile int resolucion = 1024;
+
+    private final String nombre;
+    private final double[] tabla;
+    private final int tramos;
+
+    private Easing(String nombre, double[] tabla) {
+        this.nombre = nombre;
+        this.tabla = tabla;
+        this.tramos = tabla != null ? tabla.length - 1 : 0;
+    }
+
+    /**
+     * Aplica la curva a una fracción entre 0 y 1
+     */
+    public double aplicar(double t) {
+        if (tabla == null) {
+            return t;
+        }
+
+        double posicion = t * tramos;
+        int i = (int) posicion;
+        if (i >= tramos) {
+            return tabla[tramos];
+        }
+        return tabla[i] + (tabla[i + 1] - tabla[i]) * (posicion - i);
+    }
+
+    /**
+     * Obtiene una curva por nombre o como cubic-bezier(x1, y1, x2, y2)
+     *
+     * @throws IllegalArgumentException si el nombre no existe o los parámetros no son válidos
+     */
+    public static Easing obtener(String texto) {
+        String clave = texto.trim().toLowerCase(Locale.ROOT).replace(" ", "");
+        if (clave.equals("linear")) {
+            return LINEAL;
+        }
+
+        Easing curva = curvas.get(clave);
+        if (curva == null) {
+            curva = tabular(clave, funcion(clave), resolucion);
+            curvas.put(clave, curva);
+        }
+        return curva;
+    }
+
+    /**
+     * Cambia las entradas de las tablas; las curvas ya obtenidas conservan la suya
+     */
+    public static void setResolucion(int nuevaResolucion) {
+        int ajustada = Math.max(16, Math.min(65536, nuevaResolucion));
+        if (ajustada != resolucion) {
+            resolucion = ajustada;
+            curvas.clear();
+        }
+    }
+
+    public static int getResolucion() {
+        return resolucion;
+    }
+
+    private static Easing tabular(String nombre, DoubleUnaryOperator funcion, int tramos) {
+        double[] tabla = new double[tramos + 1];
+        for (int i = 0; i <= tramos; i++) {
+            tabla[i] = funcion.applyAsDouble((double) i / tramos);
+        }
+        // Los extremos son exactos aunque la curva acumule error numérico
+        tabla[0] = 0.0;
+        tabla[tramos] = 1.0;
+        return new Easing(nombre, tabla);
+    }
+
+    private static DoubleUnaryOperator funcion(String clave) {
+        switch (clave) {
+            case "ease-in-out-cubic":
+                return Easing::easeInOutCubic;
+            case "ease-in-out-quart":
+                return Easing::easeInOutQuart;
+            case "ease-in-out-quint":
+                return Easing::easeInOutQuint;
+            case "bezier":
+                return Easing::pesoBezier;
+            // Curvas con nombre de CSS
+            case "ease":
+                return cubicBezier(0.25, 0.1, 0.25, 1.0);
+            case "ease-in":
+                return cubicBezier(0.42, 0.0, 1.0, 1.0);
+            case "ease-out":
+                return cubicBezier(0.0, 0.0, 0.58, 1.0);
+            case "ease-in-out":
+                return cubicBezier(0.42, 0.0, 0.58, 1.0);
+            default:
+                break;
+        }
+
+        if (clave.startsWith("cubic-bezier(") && clave.endsWith(")")) {
+            String[] partes = clave.substring(13, clave.length() - 1).split(",");
+            if (partes.length == 4) {
+                try {
+                    double x1 = Double.parseDouble(partes[0]);
+                    double y1 = Double.parseDouble(partes[1]);
+                    double x2 = Double.parseDouble(partes[2]);
+                    double y2 = Double.parseDouble(partes[3]);
+                    if (x1 >= 0 && x1 <= 1 && x2 >= 0 && x2 <= 1) {
+                        return cubicBezier(x1, y1, x2, y2);
+                    }
+                } catch (NumberFormatException ignored) {
+                    // Se informa abajo
+                }
+            }
+            throw new IllegalArgumentException("cubic-bezier necesita 4 números y x1, x2 entre 0 y 1: " + clave);
+        }
+
+        throw new IllegalArgumentException("Easing desconocido: " + clave);
+    }
+
+    /**
+     * Cubic-bezier de CSS entre (0, 0) y (1, 1): busca el parámetro cuya x es t y devuelve su y
+     * Solo se evalúa al construir la tabla
+     */
+    private static DoubleUnaryOperator cubicBezier(double x1, double y1, double x2, double y2) {
+        return t -> {
+            // x(s) es monótona porque x1 y x2 están en [0, 1]: bisección con unas iteraciones de Newton
+            double s = t;
+            for (int i = 0; i < 8; i++) {
+                double error = bezier(s, x1, x2) - t;
+                double derivada = derivadaBezier(s, x1, x2);
+                if (Math.abs(error) < 1.0e-12 || Math.abs(derivada) < 1.0e-9) {
+                    break;
+                }
+                s -= error / derivada;
+            }
+
+            if (s < 0 || s > 1 || Math.abs(bezier(s, x1, x2) - t) > 1.0e-9) {
+                double bajo = 0.0;
+                double alto = 1.0;
+                s = t;
+                for (int i = 0; i < 60; i++) {
+                    if (bezier(s, x1, x2) < t) {
+                        bajo = s;
+                    } else {
+                        alto = s;
+                    }
+                    s = (bajo + alto) / 2;
+                }
+            }
+            return bezier(s, y1, y2);
+        };
+    }
+
+    private static double bezier(double s, double p1, double p2) {
+        double u = 1 - s;
+        return 3 * u * u * s * p1 + 3 * u * s * s * p2 + s * s * s;
+    }
+
+    private static double derivadaBezier(double s, double p1, double p2) {
+        double u = 1 - s;
+        return 3 * u * u * p1 + 6 * u * s * (p2 - p1) + 3 * s * s * (1 - p2);
+    }
+
+    /**
+     * Fracción recorrida sobre la Bézier cúbica con los controles alineados entre las dos claves
+     */
+    static double pesoBezier(double t) {
+        return bezier(t, CONTROL_BEZIER, 1 - CONTROL_BEZIER);
+    }
+
+    /**
+     * Easing cúbico para transiciones suaves
+     */
+    static double easeInOutCubic(double t) {
+        if (t < 0.5) {
+            return 4 * t * t * t;
+        }
+        double v = -2 * t + 2;
+        return 1 - v * v * v / 2;
+    }
+
+    /**
+     * Easing cuártico para rotaciones ultra suaves
+     */
+    static double easeInOutQuart(double t) {
+        if (t < 0.5) {
+            return 8 * t * t * t * t;
+        }
+        double v = -2 * t + 2;
+        double v2 = v * v;
+        return 1 - v2 * v2 / 2;
+    }
+
+    /**
+     * Easing quíntico, el más marcado de los tres
+     */
+    static double easeInOutQuint(double t) {
+        if (t < 0.5) {
+            return 16 * t * t * t * t * t;
+        }
+        double v = -2 * t + 2;
+        double v2 = v * v;
+        return 1 - v2 * v2 * v / 2;
+    }
+
+    public String getNombre() {
+        return nombre;
+    }
+}
@@ -8,16 +8,13 @@ import net.viciont.cinematics.objects.Frame;
 import net.viciont.cinematics.objects.Cinematica.TipoCinematica;
 import net.viciont.cinematics.objects.Cinematica.ParteCinematica;
 import net.viciont.cinematics.utils.ConfiguracionJSON;
-import net.viciont.cinematics.utils.CadenaTareas;
-import net.viciont.cinematics.events.CinematicaInicioEvent;
-import net.viciont.cinematics.events.CinematicaFinEvent;
-import net.viciont.cinematics.core.InterpoladorFrames;
 import net.viciont.cinematics.core.InterpoladorFrames.TipoInterpolacion;
 import org.bukkit.Bukkit;
+import org.bukkit.GameMode;
 import org.bukkit.Location;
 import org.bukkit.Sound;
+import org.bukkit.World;
 import org.bukkit.entity.Player;
-import org.bukkit.scheduler.BukkitRunnable;
 
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
@@ -29,6 +26,9 @@ import java.util.concurrent.ConcurrentHashMap;
  */
 public class GestorCinematicas {
 
+    // Sistema legacy: los frames grabados se reproducen tal cual
+    private static final NucleoInterpolacion NUCLEO_SIN_INTERPOLAR = new NucleoInterpolacion(TipoInterpolacion.LINEAR, false);
+
     private final ViciontCinematics plugin;
 
     // Sistema de interpolación
@@ -36,6 +36,12 @@ public class GestorCinematicas {
     private boolean interpolacionHabilitada;
     private int fpsObjetivo;
     private boolean usarSistemaLegacy;
+    private boolean streamingFrames;
+
+    // Cámara de reproducción
+    private ReproductorCinematicas.ModoCamara modoCamara = ReproductorCinematicas.ModoCamara.TELEPORT;
+    private int duracionTeleportCamara = 1;
+    private int tamanoLoteTeleport = 50;
 
     // Configuraciones del sistema
     private boolean silencioGlobal = false;
@@ -50,9 +56,27 @@ public class GestorCinematicas {
     private final Map<UUID, EstadoGrabacion> estadosGrabacion = new ConcurrentHashMap<>();
     private final List<ProgresoCinematica> cinematicasEnProgreso = Collections.synchronizedList(new ArrayList<>());
 
+    // Líneas de tiempo compiladas, con presupuesto de memoria
+    private final CacheLineasTiempo cacheLineas = new CacheLineasTiempo(64L * 1024 * 1024);
+    private int cinematicasPrecalentadas = 5;
+
+    // Mundos de las líneas de tiempo, indexados y actualizados con la carga y descarga de mundos
+    private final TablaMundos tablaMundos = new TablaMundos();
+
+    // Motor de reproducción por ticks
+    private final ReproductorCinematicas reproductor;
+
+    // Presupuesto de reproducciones simultáneas y cola de espera
+    private final ControlAdmision controlAdmision;
+
     public GestorCinematicas(ViciontCinematics plugin) {
         this.plugin = plugin;
         inicializarSistemaInterpolacion();
+
+        this.controlAdmision = new ControlAdmision(plugin);
+
+        this.reproductor = new ReproductorCinematicas(plugin, this);
+        this.reproductor.iniciar();
     }
 
     /**
@@ -65,6 +89,9 @@ public class GestorCinematicas {
         this.interpolacionHabilitada = config.getBoolean("playback.interpolation.enabled", true);
         this.fpsObjetivo = Math.max(24, Math.min(60, config.getInt("playback.interpolation.target_fps", 24)));
         this.usarSistemaLegacy = config.getBoolean("playback.legacy.use_legacy_system", false);
+        this.streamingFrames = config.getBoolean("playback.interpolation.streaming", true);
+        this.cacheLineas.setPresupuestoBytes(Math.max(1L, config.getLong("performance.interpolation_cache.max_mb", 64L)) * 1024 * 1024);
+        this.cinematicasPrecalentadas = config.getInt("performance.interpolation_cache.warmup_count", 5);
 
         // Configurar interpolador
         String tipoStr = config.getString("playback.interpolation.type", "SMOOTH").toUpperCase();
@@ -79,11 +106,39 @@ public class GestorCinematicas {
         boolean suavizadoRotacion = config.getBoolean("playback.interpolation.rotation_smoothing", true);
         double factorSuavizado = config.getDouble("playback.interpolation.smoothing_factor", 0.3);
 
-        this.interpolador = new InterpoladorFrames(tipo, suavizadoRotacion, factorSuavizado);
+        int umbralParalelo = config.getInt("performance.parallel_interpolation_threshold", 5000);
+
+        // Antes de crear el interpolador: sus curvas se tabulan con esta resolución
+        Easing.setResolucion(config.getInt("playback.interpolation.easing_table_size", 1024));
+
+        this.interpolador = new InterpoladorFrames(tipo, suavizadoRotacion, factorSuavizado, umbralParalelo);
+
+        boolean simd = config.getBoolean("performance.simd_interpolation", false);
+        if (NucleoInterpolacion.configurarVectorial(simd)) {
+            plugin.getLogger().info("Interpolación SIMD activa (jdk.incubator.vector)");
+        } else if (simd) {
+            plugin.getLogger().warning("performance.simd_interpolation requiere un jar compilado con -Psimd " +
+                    "e iniciar el servidor con --add-modules jdk.incubator.vector, usando el núcleo escalar");
+        }
+
+        String modoStr = config.getString("playback.camera.mode", "TELEPORT").toUpperCase();
+        try {
+            this.modoCamara = ReproductorCinematicas.ModoCamara.valueOf(modoStr);
+        } catch (IllegalArgumentException e) {
+            this.modoCamara = ReproductorCinematicas.ModoCamara.TELEPORT;
+            plugin.getLogger().warning("Modo de cámara inválido: " + modoStr + ", usando TELEPORT");
+        }
+        if (modoCamara == ReproductorCinematicas.ModoCamara.ENTITY && plugin.getPlanificador().isFolia()) {
+            // La entidad de cámara no puede cruzar regiones desde la tarea de la reproducción
+            this.modoCamara = ReproductorCinematicas.ModoCamara.TELEPORT;
+            plugin.getLogger().warning("El modo de cámara ENTITY no está disponible en Folia, usando TELEPORT");
+        }
+        this.duracionTeleportCamara = config.getInt("playback.camera.teleport_duration", 1);
+        this.tamanoLoteTeleport = config.getInt("performance.teleport_batch_size", 50);
 
         plugin.getLogger().info("Sistema de interpolación inicializado: " +
                 (interpolacionHabilitada ? "HABILITADO" : "DESHABILITADO") +
-                " - FPS: " + fpsObjetivo + " - Tipo: " + tipo);
+                " - FPS: " + fpsObjetivo + " - Tipo: " + tipo + " - Cámara: " + modoCamara);
     }
 
     /**
@@ -140,6 +195,8 @@ public class GestorCinematicas {
             return false;
         }
 
+        compactarAlGuardar(cinematica);
+
         cinematicas.put(cinematica.getNombre(), cinematica);
         plugin.guardarConfiguracion();
 
@@ -172,6 +229,7 @@ public class GestorCinematicas {
 
         Cinematica cinematica = new Cinematica(nombre);
         cinematica.setFrames(frames);
+        compactarAlGuardar(cinematica);
         cinematicas.put(nombre, cinematica);
 
         plugin.guardarConfiguracion();
@@ -246,229 +304,383 @@ public class GestorCinematicas {
 
     /**
      * Reproduce una o varias cinemáticas
+     *
+     * @return true si la reproducción empezó o quedó en la cola de espera
      */
     public boolean reproducir(List<UUID> jugadores, String... nombresCinematicas) {
+        ResultadoReproduccion resultado = solicitarReproduccion(jugadores, 0, nombresCinematicas);
+        return resultado == ResultadoReproduccion.INICIADA || resultado == ResultadoReproduccion.EN_COLA;
+    }
+
+    /**
+     * Solicita una reproducción pasando por el control de admisión
+     * Si no cabe en el presupuesto queda en la cola y empieza cuando se libere capacidad
+     *
+     * @param prioridad prioridad en la cola (solo cuenta con queue_mode PRIORITY)
+     */
+    public ResultadoReproduccion solicitarReproduccion(List<UUID> jugadores, int prioridad, String... nombresCinematicas) {
         // Verificar que todas las cinemáticas existen
         for (String nombre : nombresCinematicas) {
             if (!cinematicas.containsKey(nombre)) {
                 plugin.getLogger().warning("Cinemática no encontrada: " + nombre);
-                return false;
+                return ResultadoReproduccion.RECHAZADA;
             }
         }
 
         if (jugadores.isEmpty()) {
             plugin.getLogger().warning("No hay jugadores para reproducir la cinemática");
-            return false;
+            return ResultadoReproduccion.RECHAZADA;
+        }
+
+        // Las solicitudes nuevas no se adelantan a las que ya esperan
+        if (!controlAdmision.hayEspera() && admitir(jugadores, nombresCinematicas)) {
+            return ResultadoReproduccion.INICIADA;
+        }
+
+        if (controlAdmision.superaLimites(jugadores.size(), calcularActualizaciones(jugadores.size()))) {
+            plugin.getLogger().warning("Solicitud rechazada, supera por sí sola los límites de admisión: " +
+                    Arrays.toString(nombresCinematicas) + " para " + jugadores.size() + " jugadores");
+            return ResultadoReproduccion.EXCEDE_LIMITES;
+        }
+
+        if (!controlAdmision.encolar(jugadores, nombresCinematicas, prioridad)) {
+            plugin.getLogger().warning("Cola de reproducción llena, solicitud rechazada: " + Arrays.toString(nombresCinematicas));
+            return ResultadoReproduccion.RECHAZADA;
         }
 
-        // Crear cadena de tareas
-        CadenaTareas cadena = CadenaTareas.crear();
+        plugin.getLogger().info("Reproducción en cola por falta de capacidad: " + Arrays.toString(nombresCinematicas) +
+                " para " + jugadores.size() + " jugadores");
+        return ResultadoReproduccion.EN_COLA;
+    }
+
+    /**
+     * Atiende la cola de espera mientras la siguiente solicitud quepa en el presupuesto
+     * (usado por el reproductor cada tick)
+     */
+    void procesarColaAdmision() {
+        ControlAdmision.SolicitudReproduccion solicitud;
+        while ((solicitud = controlAdmision.siguiente()) != null) {
+            String[] nombres = solicitud.getNombres();
+            if (!Arrays.stream(nombres).allMatch(cinematicas::containsKey)) {
+                // La cinemática se eliminó mientras esperaba
+                controlAdmision.quitar(solicitud);
+                continue;
+            }
+
+            List<UUID> conectados = solicitud.getJugadores().stream()
+                    .filter(uuid -> Bukkit.getPlayer(uuid) != null)
+                    .toList();
+            if (conectados.isEmpty()) {
+                controlAdmision.quitar(solicitud);
+                continue;
+            }
+
+            // Los límites pudieron bajar al recargar la configuración: una solicitud que ya no cabe nunca
+            // se descarta en lugar de bloquear la cola
+            if (controlAdmision.superaLimites(conectados.size(), calcularActualizaciones(conectados.size()))) {
+                controlAdmision.quitar(solicitud);
+                plugin.getLogger().warning("Solicitud descartada de la cola, supera por sí sola los límites de admisión: " +
+                        Arrays.toString(nombres));
+                continue;
+            }
+
+            if (!admitir(conectados, nombres)) {
+                return;
+            }
+            controlAdmision.quitar(solicitud);
+        }
+    }
+
+    /**
+     * Inicia la reproducción si cabe en el presupuesto
+     *
+     * @return false si no cabe y debe esperar
+     */
+    private boolean admitir(List<UUID> jugadores, String... nombresCinematicas) {
         List<Cinematica> secuencia = Arrays.stream(nombresCinematicas)
                 .map(cinematicas::get)
                 .toList();
 
-        ProgresoCinematica progreso = new ProgresoCinematica(secuencia, jugadores, cadena, plugin);
-        cinematicasEnProgreso.add(progreso);
+        // Las líneas de tiempo se compilan una vez y se reutilizan; el reproductor solo mueve un cursor sobre ellas
+        List<LineaTiempo> lineas = new ArrayList<>(secuencia.size());
+        for (Cinematica cinematica : secuencia) {
+            lineas.add(obtenerLineaTiempo(cinematica));
+        }
+
+        // Unir a una difusión compatible dentro de su ventana en lugar de crear otra sesión
+        ProgresoCinematica existente = buscarDifusionCompatible(secuencia, lineas);
+        ControlAdmision.Uso uso = calcularUso();
+        if (!controlAdmision.cabe(uso, jugadores.size(), calcularActualizaciones(jugadores.size()), existente == null)) {
+            return false;
+        }
+
+        secuencia.forEach(Cinematica::registrarReproduccion);
+
+        if (existente != null) {
+            guardarInformacionJugadores(existente, jugadores);
+            existente.agregarEspectadores(jugadores);
+
+            plugin.getLogger().info("Uniendo " + jugadores.size() + " jugadores a la difusión de " +
+                    Arrays.toString(nombresCinematicas) + " (desfase " + existente.getTicksSesion() + " ticks)");
+            return true;
+        }
+
+        ProgresoCinematica progreso = new ProgresoCinematica(secuencia, jugadores, lineas, plugin);
 
         // IMPORTANTE: Guardar información ANTES de cualquier cambio
-        if (restaurarUbicacion || restaurarModoJuego) {
-            for (UUID uuid : jugadores) {
-                Player jugador = Bukkit.getPlayer(uuid);
-                if (jugador != null) {
-                    progreso.getInformacionJugadores().put(uuid, new InfoJugador(jugador));
-                }
+        guardarInformacionJugadores(progreso, jugadores);
+
+        cinematicasEnProgreso.add(progreso);
+
+        plugin.getLogger().info("Reproduciendo cinemáticas: " + Arrays.toString(nombresCinematicas) + " para " + jugadores.size() + " jugadores");
+        return true;
+    }
+
+    /**
+     * Actualizaciones de cámara por tick que añade una solicitud (una por grupo con cámara de entidad)
+     */
+    private int calcularActualizaciones(int jugadores) {
+        return modoCamara == ReproductorCinematicas.ModoCamara.ENTITY ? 1 : jugadores;
+    }
+
+    /**
+     * Calcula el uso actual: sesiones, espectadores y actualizaciones de cámara estimadas por tick
+     * (una por espectador con teleport, una por grupo con cámara de entidad)
+     */
+    public ControlAdmision.Uso calcularUso() {
+        int sesiones = 0;
+        int espectadores = 0;
+        int actualizaciones = 0;
+
+        synchronized (cinematicasEnProgreso) {
+            for (ProgresoCinematica progreso : cinematicasEnProgreso) {
+                sesiones++;
+                espectadores += progreso.getEspectadores().size();
+                actualizaciones += modoCamara == ReproductorCinematicas.ModoCamara.ENTITY
+                        ? progreso.getGrupos().size()
+                        : progreso.getEspectadores().size();
             }
         }
 
-        // Aplicar fade inicial si está habilitado
-        if (efectoFade) {
-            // Obtener configuración de fade inicial
-            int fadeInInicial = plugin.getConfig().getInt("effects.initial.fade_in_duration", 20);
-            int fadeStayInicial = plugin.getConfig().getInt("effects.initial.fade_stay_duration", 60);
-            int fadeOutInicial = plugin.getConfig().getInt("effects.initial.fade_out_duration", 40);
+        return new ControlAdmision.Uso(sesiones, espectadores, actualizaciones);
+    }
+
+    /**
+     * Busca una reproducción activa y sin pausar de la misma secuencia que lleve como mucho
+     * window_ticks en marcha; quien se une entra con su propio desfase, aunque la sesión ya haya empezado
+     */
+    private ProgresoCinematica buscarDifusionCompatible(List<Cinematica> secuencia, List<LineaTiempo> lineas) {
+        if (!plugin.getConfig().getBoolean("playback.broadcast.enabled", true)) {
+            return null;
+        }
+
+        int ventanaTicks = Math.max(0, plugin.getConfig().getInt("playback.broadcast.window_ticks", 20));
 
-            // Aplicar fade inicial
-            cadena.add(new BukkitRunnable() {
-                @Override
-                public void run() {
-                    aplicarFadeInicial(jugadores, fadeInInicial, fadeStayInicial, fadeOutInicial);
+        synchronized (cinematicasEnProgreso) {
+            for (ProgresoCinematica progreso : cinematicasEnProgreso) {
+                if (progreso.isActiva() && !progreso.isPausada()
+                        && progreso.getTicksSesion() <= ventanaTicks
+                        && progreso.reproduceMismaSecuencia(secuencia, lineas)) {
+                    return progreso;
                 }
-            });
+            }
+        }
 
-            // Esperar solo el fade in, la cinemática empezará durante el stay
-            cadena.retraso(fadeInInicial * 50L);
+        return null;
+    }
+
+    /**
+     * Guarda la información original de los jugadores para poder restaurarlos al terminar
+     */
+    private void guardarInformacionJugadores(ProgresoCinematica progreso, List<UUID> jugadores) {
+        if (!restaurarUbicacion && !restaurarModoJuego) {
+            return;
         }
 
-        // Evento de inicio
-        cadena.add(new BukkitRunnable() {
-            @Override
-            public void run() {
-                Bukkit.getScheduler().runTask(plugin, () -> {
-                    Bukkit.getPluginManager().callEvent(new CinematicaInicioEvent(progreso));
-                });
+        for (UUID uuid : jugadores) {
+            Player jugador = Bukkit.getPlayer(uuid);
+            if (jugador != null) {
+                progreso.getInformacionJugadores().putIfAbsent(uuid, new InfoJugador(jugador));
             }
-        });
+        }
+    }
 
-        // Procesar cada cinemática
-        for (String nombre : nombresCinematicas) {
-            Cinematica cinematica = cinematicas.get(nombre);
-
-            List<Frame> frames = procesarFramesCinematica(cinematica);
-            long delayMs = calcularDelayEntreFrames();
-
-            // Empezar desde el primer frame siempre
-            for (int i = 0; i < frames.size(); i++) {
-                Frame frame = frames.get(i);
-                final int frameIndex = i;
-
-                cadena.add(new BukkitRunnable() {
-                    @Override
-                    public void run() {
-                        Location loc = new Location(
-                                Bukkit.getWorld(frame.getMundo()),
-                                frame.getX(), frame.getY(), frame.getZ(),
-                                frame.getYaw(), frame.getPitch()
-                        );
-
-                        Bukkit.getScheduler().runTask(plugin, () -> {
-                            jugadores.forEach(uuid -> {
-                                Player jugador = Bukkit.getPlayer(uuid);
-                                if (jugador != null && jugador.isOnline()) {
-                                    jugador.teleport(loc);
-                                }
-                            });
-                        });
-
-                        // Reproducir sonidos si existen
-                        try {
-                            Map<Integer, Cinematica.SonidoCinematica> sonidos = cinematica.getSonidos();
-                            if (sonidos != null && !sonidos.isEmpty()) {
-                                var sonidoCinematica = sonidos.get(frameIndex);
-                                if (sonidoCinematica != null) {
-                                    Bukkit.getScheduler().runTask(plugin, () -> {
-                                        jugadores.forEach(uuid -> {
-                                            Player jugador = Bukkit.getPlayer(uuid);
-                                            if (jugador != null && jugador.isOnline()) {
-                                                reproducirSonido(jugador, sonidoCinematica);
-                                            }
-                                        });
-                                    });
-                                }
-                            }
-                        } catch (Exception e) {
-                            plugin.getLogger().warning("Error al reproducir sonido en frame " + frameIndex + ": " + e.getMessage());
-                        }
-                    }
-                });
+    /**
+     * Obtiene la línea de tiempo compilada de una cinemática, compilándola solo si no está en caché
+     */
+    public LineaTiempo obtenerLineaTiempo(Cinematica cinematica) {
+        CacheLineasTiempo.Clave clave = crearClave(cinematica);
+        LineaTiempo linea = cacheLineas.obtener(clave, cinematica);
+        if (linea != null) {
+            return linea;
+        }
 
-                // Añadir delay después de cada frame
-                if (i < frames.size() - 1) { // No añadir delay después del último frame
-                    cadena.retraso(delayMs);
-                }
-            }
+        linea = compilarLineaTiempo(cinematica);
+        cacheLineas.guardar(clave, linea);
+        return linea;
+    }
+
+    private LineaTiempo compilarLineaTiempo(Cinematica cinematica) {
+        return LineaTiempo.compilar(cinematica, procesarFramesCinematica(cinematica), tablaMundos, !streamingFrames,
+                interpolador.getUmbralParalelo());
+    }
+
+    /**
+     * Clave de caché con todo lo que cambia el resultado de compilar la cinemática
+     */
+    private CacheLineasTiempo.Clave crearClave(Cinematica cinematica) {
+        if (usarSistemaLegacy || !interpolacionHabilitada) {
+            return new CacheLineasTiempo.Clave(cinematica.getNombre(), cinematica.getVersion(), null,
+                    plugin.getConfig().getInt("playback.legacy.fps", 20), 0.0, false);
         }
 
-        // Aplicar fade final (antes del último frame para ocultar teleport)
-        if (efectoFade) {
-            // Obtener configuración de fade final
-            int fadeInFinal = plugin.getConfig().getInt("effects.final.fade_in_duration", 20);
-            int fadeStayFinal = plugin.getConfig().getInt("effects.final.fade_stay_duration", 60);
-            int fadeOutFinal = plugin.getConfig().getInt("effects.final.fade_out_duration", 40);
+        double suavizado = plugin.getConfig().getBoolean("playback.interpolation.rotation_smoothing", true)
+                ? plugin.getConfig().getDouble("playback.interpolation.smoothing_factor", 0.3)
+                : 0.0;
+        return new CacheLineasTiempo.Clave(cinematica.getNombre(), cinematica.getVersion(), interpolador.getTipo(),
+                fpsObjetivo, suavizado, !streamingFrames);
+    }
 
-            // Aplicar fade final
-            cadena.add(new BukkitRunnable() {
-                @Override
-                public void run() {
-                    aplicarFadeFinal(jugadores, fadeInFinal, fadeStayFinal, fadeOutFinal);
-                }
-            });
+    /**
+     * Compila en segundo plano las cinemáticas más reproducidas para que su primera reproducción no espere
+     */
+    public void precalentarLineasTiempo() {
+        if (cinematicasPrecalentadas <= 0 || cinematicas.isEmpty()) {
+            return;
+        }
 
-            // TP de finalización (durante el fade stay)
-            cadena.retraso((fadeInFinal + 10) * 50L); // 10 ticks después del fade in
-            cadena.add(new BukkitRunnable() {
-                @Override
-                public void run() {
-                    // Restaurar jugadores
-                    Bukkit.getScheduler().runTask(plugin, () -> {
-                        for (UUID uuid : jugadores) {
-                            Player jugador = Bukkit.getPlayer(uuid);
-                            if (jugador != null) {
-                                var info = progreso.getInformacionJugadores().get(uuid);
-                                if (info != null) {
-                                    if (restaurarUbicacion) {
-                                        jugador.teleport(info.getUbicacionOriginal());
-                                    }
-                                    if (restaurarModoJuego) {
-                                        jugador.setGameMode(info.getModoJuegoOriginal());
-                                    }
-                                }
-                            }
-                        }
-                    });
+        List<Cinematica> masReproducidas = cinematicas.values().stream()
+                .sorted(Comparator.comparingInt(Cinematica::getReproducciones).reversed())
+                .limit(cinematicasPrecalentadas)
+                .toList();
+
+        plugin.getPlanificador().ejecutarAsincrono(() -> {
+            int compiladas = 0;
+            for (Cinematica cinematica : masReproducidas) {
+                CacheLineasTiempo.Clave clave = crearClave(cinematica);
+                if (cacheLineas.contiene(clave)) {
+                    continue;
                 }
-            });
+                try {
+                    cacheLineas.guardar(clave, compilarLineaTiempo(cinematica));
+                    compiladas++;
+                } catch (Exception e) {
+                    plugin.getLogger().warning("Error al precalentar cinemática " + cinematica.getNombre() + ": " + e.getMessage());
+                }
+            }
+            plugin.getLogger().info("Precalentadas " + compiladas + " líneas de tiempo");
+        });
+    }
+
+    /**
+     * Descarta todas las líneas de tiempo compiladas
+     */
+    public void invalidarLineasTiempo() {
+        cacheLineas.limpiar();
+    }
+
+    /**
+     * Compacta los frames guardados de una cinemática sin cambiar su duración
+     *
+     * @param tolerancia desviación máxima de la posición en bloques, o null para usar la de la configuración
+     * @return frames conservados, o -1 si la cinemática no existe
+     */
+    public int compactarCinematica(String nombre, Double tolerancia) {
+        Cinematica cinematica = cinematicas.get(nombre);
+        if (cinematica == null) {
+            return -1;
         }
 
-        // Ejecutar la cadena
-        cadena.execute().thenAccept(resultado -> {
-            cinematicasEnProgreso.remove(progreso);
-            Bukkit.getScheduler().runTask(plugin, () -> {
-                Bukkit.getPluginManager().callEvent(new CinematicaFinEvent(progreso));
-            });
-        });
+        compactar(cinematica, tolerancia != null ? tolerancia : plugin.getConfig().getDouble("compaction.tolerance", 0.05));
+        cacheLineas.quitar(nombre);
+        plugin.guardarConfiguracion();
+        return cinematica.getFrames().size();
+    }
 
-        plugin.getLogger().info("Reproduciendo cinemáticas: " + Arrays.toString(nombresCinematicas) + " para " + jugadores.size() + " jugadores");
-        return true;
+    private void compactarAlGuardar(Cinematica cinematica) {
+        if (plugin.getConfig().getBoolean("compaction.on_save", false)) {
+            compactar(cinematica, plugin.getConfig().getDouble("compaction.tolerance", 0.05));
+        }
+    }
+
+    private void compactar(Cinematica cinematica, double tolerancia) {
+        int antes = cinematica.getFrames().size();
+        CompactadorFrames compactador = new CompactadorFrames(tolerancia,
+                plugin.getConfig().getDouble("compaction.angle_tolerance", 0.5));
+        cinematica.setFrames(compactador.compactar(cinematica.getFrames()));
+
+        plugin.getLogger().info("Cinemática " + cinematica.getNombre() + " compactada: " + antes + " → " +
+                cinematica.getFrames().size() + " frames (" + cinematica.getDuracionTicks() + " ticks)");
     }
 
     /**
-     * Procesa los frames de una cinemática aplicando interpolación si está habilitada
+     * Prepara la curva de cámara de una cinemática aplicando interpolación si está habilitada
+     * Las muestras interpoladas no se generan aquí: se evalúan al reproducir o al precalcular la línea
      */
-    private List<Frame> procesarFramesCinematica(Cinematica cinematica) {
-        List<Frame> framesOriginales = cinematica.getFrames();
+    private CurvaCamara procesarFramesCinematica(Cinematica cinematica) {
+        // Las cinemáticas compactadas se reconstruyen a un frame por tick: la duración y los ticks de sonidos y eventos no cambian
+        List<Frame> framesOriginales = cinematica.getFramesPorTick();
 
         if (usarSistemaLegacy || !interpolacionHabilitada) {
-            // Sistema legacy
+            // Sistema legacy: cada frame es una muestra, al ritmo de playback.legacy.fps
             boolean usarProlongados = plugin.getConfig().getBoolean("playback.legacy.use_prolonged_frames", false);
-            return usarProlongados ? cinematica.getFramesProlongados() : framesOriginales;
+            PistasPose frames = PistasPose.desdeFrames(usarProlongados ? cinematica.getFramesProlongados() : framesOriginales,
+                    tablaMundos::indice);
+            int fps = Math.max(10, Math.min(50, plugin.getConfig().getInt("playback.legacy.fps", 20)));
+            return NUCLEO_SIN_INTERPOLAR.preparar(frames, fps, fps);
         }
 
         // Sistema de interpolación moderno
-        if (framesOriginales.size() < 2) {
-            return framesOriginales;
-        }
-
-        List<Frame> framesInterpolados = interpolador.interpolar(framesOriginales, fpsObjetivo);
+        PistasPose claves = PistasPose.desdeFrames(framesOriginales, tablaMundos::indice);
+        CurvaCamara curva = interpolador.preparar(claves, fpsObjetivo, obtenerEasing(cinematica));
 
-        plugin.getLogger().info("Frames procesados: " + framesOriginales.size() +
-                " → " + framesInterpolados.size() + " (interpolados)");
-        return framesInterpolados;
+        plugin.getLogger().info("Frames procesados: " + claves.getTamano() +
+                " → " + curva.getTotal() + (streamingFrames ? " (interpolados al reproducir)" : " (interpolados)"));
+        return curva;
     }
 
+
     /**
-     * Calcula el delay entre frames basado en el sistema configurado
+     * Easing propio de una cinemática, o null si no tiene o no es válido
      */
-    private long calcularDelayEntreFrames() {
-        if (usarSistemaLegacy || !interpolacionHabilitada) {
-            int fps = plugin.getConfig().getInt("playback.legacy.fps", 20);
-            fps = Math.max(10, Math.min(50, fps));
-            return (long) (1000.0 / fps);
+    private Easing obtenerEasing(Cinematica cinematica) {
+        if (cinematica.getEasing() == null || cinematica.getEasing().isBlank()) {
+            return null;
         }
 
-        // Sistema moderno: delay mínimo realista para fluidez máxima
-        long ms = (long) (1000.0 / fpsObjetivo);
-        return Math.max(15L, ms);
+        try {
+            return Easing.obtener(cinematica.getEasing());
+        } catch (IllegalArgumentException e) {
+            plugin.getLogger().warning("Cinemática " + cinematica.getNombre() + ": " + e.getMessage() +
+                    ", usando el easing de " + interpolador.getTipo());
+            return null;
+        }
     }
 
-
     /**
      * Recarga la configuración del sistema de interpolación
      */
     public void recargarConfiguracionInterpolacion() {
         inicializarSistemaInterpolacion();
+        reproductor.getGobernador().cargarConfiguracion();
+        reproductor.getDespachador().cargarConfiguracion();
+        controlAdmision.cargarConfiguracion();
+        invalidarLineasTiempo();
         plugin.getLogger().info("Configuración de interpolación recargada");
     }
 
+    /**
+     * Reproduce un sonido de cinemática para todos los espectadores conectados
+     */
+    void reproducirSonido(List<UUID> jugadores, Cinematica.SonidoCinematica sonidoCinematica) {
+        for (UUID uuid : jugadores) {
+            Player jugador = Bukkit.getPlayer(uuid);
+            if (jugador != null && jugador.isOnline()) {
+                reproducirSonido(jugador, sonidoCinematica);
+            }
+        }
+    }
+
     /**
      * Reproduce un sonido de cinemática
      */
@@ -500,7 +712,8 @@ public class GestorCinematicas {
      * Fuerza el fin de una cinemática para jugadores específicos
      */
     public boolean forzarFinCinematica(List<UUID> jugadores) {
-        boolean algunoDetenido = false;
+        // Los que aún esperaban en la cola simplemente salen de ella
+        boolean algunoDetenido = controlAdmision.quitarJugadores(jugadores);
 
         for (ProgresoCinematica progreso : new ArrayList<>(cinematicasEnProgreso)) {
             // Crear una lista mutable de espectadores afectados
@@ -509,18 +722,15 @@ public class GestorCinematicas {
                     .toList());
 
             if (!espectadoresAfectados.isEmpty()) {
-                // Crear nueva lista sin los jugadores afectados
-                List<UUID> nuevosEspectadores = new ArrayList<>(progreso.getEspectadores());
-                nuevosEspectadores.removeAll(espectadoresAfectados);
-
-                // Actualizar la lista de espectadores
-                progreso.getEspectadores().clear();
-                progreso.getEspectadores().addAll(nuevosEspectadores);
-
-                // Si no quedan espectadores, finalizar completamente
-                if (progreso.getEspectadores().isEmpty()) {
-                    progreso.finalizar();
-                    cinematicasEnProgreso.remove(progreso);
+                // Con el monitor de la sesión: en Folia puede estar avanzando en su región ahora mismo
+                synchronized (progreso) {
+                    reproductor.liberarEspectadores(progreso, espectadoresAfectados);
+                    progreso.quitarEspectadores(espectadoresAfectados);
+
+                    // Si no quedan espectadores, cancelar la reproducción completa (también su tarea de región)
+                    if (progreso.getEspectadores().isEmpty()) {
+                        reproductor.cancelar(progreso);
+                    }
                 }
 
                 // Restaurar jugadores afectados
@@ -529,7 +739,7 @@ public class GestorCinematicas {
                     if (jugador != null) {
                         var info = progreso.getInformacionJugadores().get(uuid);
                         if (info != null) {
-                            info.restaurarJugador(jugador);
+                            plugin.getPlanificador().ejecutarEnEntidad(jugador, () -> info.restaurarJugador(jugador));
                         }
                     }
                 }
@@ -588,60 +798,143 @@ public class GestorCinematicas {
     /**
      * Aplica fade inicial cinematográfico
      */
-    private void aplicarFadeInicial(List<UUID> jugadores, int fadeIn, int stay, int fadeOut) {
+    void aplicarFadeInicial(List<UUID> jugadores, int fadeIn, int stay, int fadeOut) {
         String fadeChar = plugin.getConfig().getString("effects.fade_unicode", "\uEAA8");
 
-        Bukkit.getScheduler().runTask(plugin, () -> {
-            jugadores.forEach(uuid -> {
-                Player jugador = Bukkit.getPlayer(uuid);
-                if (jugador != null && jugador.isOnline()) {
-                    // Fade in -> Stay (TP cerca del final) -> Fade out
-                    jugador.sendTitle(fadeChar, "", fadeIn, stay, fadeOut);
+        jugadores.forEach(uuid -> {
+            Player jugador = Bukkit.getPlayer(uuid);
+            if (jugador != null && jugador.isOnline()) {
+                // Fade in -> Stay (TP cerca del final) -> Fade out
+                jugador.sendTitle(fadeChar, "", fadeIn, stay, fadeOut);
+            }
+        });
+    }
+
+    /**
+     * Prepara a los espectadores que empiezan después del evento de inicio de la sesión
+     * (se unieron dentro de la ventana de difusión): el evento ya no se repite para ellos
+     */
+    void prepararEspectadoresTardios(ProgresoCinematica progreso, List<UUID> jugadores) {
+        GestorPackets gestorPackets = plugin.getGestorPackets();
+        List<UUID> espectadores = List.copyOf(progreso.getEspectadores());
+
+        for (UUID uuid : jugadores) {
+            Player jugador = Bukkit.getPlayer(uuid);
+            if (jugador == null || !jugador.isOnline()) continue;
+
+            plugin.getPlanificador().ejecutarEnEntidad(jugador, () -> {
+                jugador.setGameMode(GameMode.SPECTATOR);
+
+                // Sin ProtocolLib se ven entre ellos igual que los que empezaron con la sesión
+                if (!gestorPackets.isDisponible()) {
+                    for (UUID otro : espectadores) {
+                        Player jugadorOtro = Bukkit.getPlayer(otro);
+                        if (jugadorOtro != null && !uuid.equals(otro)) {
+                            jugador.showPlayer(plugin, jugadorOtro);
+                        }
+                    }
                 }
             });
-        });
+        }
+
+        // La tarea periódica de la sesión ya recorre la lista de espectadores actualizada
+        if (gestorPackets.isDisponible()) {
+            gestorPackets.mantenerVisiblesTodos(espectadores);
+        }
     }
 
     /**
      * Aplica fade final cinematográfico
      */
-    private void aplicarFadeFinal(List<UUID> jugadores, int fadeIn, int stay, int fadeOut) {
+    void aplicarFadeFinal(List<UUID> jugadores, int fadeIn, int stay, int fadeOut) {
         String fadeChar = plugin.getConfig().getString("effects.fade_unicode", "\uEAA8");
 
-        Bukkit.getScheduler().runTask(plugin, () -> {
-            jugadores.forEach(uuid -> {
-                Player jugador = Bukkit.getPlayer(uuid);
-                if (jugador != null && jugador.isOnline()) {
-                    // Fade in -> Stay (TP durante) -> Fade out
-                    jugador.sendTitle(fadeChar, "", fadeIn, stay, fadeOut);
-                }
-            });
+        jugadores.forEach(uuid -> {
+            Player jugador = Bukkit.getPlayer(uuid);
+            if (jugador != null && jugador.isOnline()) {
+                // Fade in -> Stay (TP durante) -> Fade out
+                jugador.sendTitle(fadeChar, "", fadeIn, stay, fadeOut);
+            }
         });
     }
 
+    /**
+     * Restaura ubicación y modo de juego de los espectadores (TP de finalización)
+     */
+    void restaurarEspectadores(ProgresoCinematica progreso) {
+        for (UUID uuid : progreso.getEspectadores()) {
+            Player jugador = Bukkit.getPlayer(uuid);
+            if (jugador != null) {
+                var info = progreso.getInformacionJugadores().get(uuid);
+                if (info != null) {
+                    if (restaurarUbicacion) {
+                        plugin.getPlanificador().teletransportar(jugador, obtenerUbicacionSegura(info.getUbicacionOriginal()));
+                    }
+                    if (restaurarModoJuego) {
+                        plugin.getPlanificador().ejecutarEnEntidad(jugador,
+                                () -> jugador.setGameMode(info.getModoJuegoOriginal()));
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Devuelve la ubicación si su mundo sigue cargado, o el spawn del mundo principal si no
+     * (getWorld() lanza una excepción cuando el mundo se descargó, así que se comprueba antes)
+     */
+    public Location obtenerUbicacionSegura(Location ubicacion) {
+        if (ubicacion.isWorldLoaded()) {
+            return ubicacion;
+        }
+        return Bukkit.getWorlds().get(0).getSpawnLocation();
+    }
+
+    /**
+     * Copia las reproducciones activas en la lista destino (usado por el reproductor cada tick)
+     */
+    void copiarSesionesActivas(List<ProgresoCinematica> destino) {
+        synchronized (cinematicasEnProgreso) {
+            destino.addAll(cinematicasEnProgreso);
+        }
+    }
+
+    /**
+     * Quita una reproducción de la lista de activas
+     */
+    void quitarSesion(ProgresoCinematica progreso) {
+        cinematicasEnProgreso.remove(progreso);
+    }
+
+    /**
+     * Detiene el reproductor y devuelve a su estado original a todos los espectadores
+     */
+    public void detenerReproductor() {
+        reproductor.detener();
+
+        List<UUID> espectadores = new ArrayList<>();
+        for (ProgresoCinematica progreso : getCinematicasEnProgreso()) {
+            espectadores.addAll(progreso.getEspectadores());
+        }
+        forzarFinCinematica(espectadores);
+    }
+
     /**
      * Oculta o muestra todos los jugadores
      */
     public void alternarVisibilidadJugadores(boolean ocultar) {
-        Bukkit.getScheduler().runTask(plugin, () -> {
-            if (ocultar) {
-                Bukkit.getOnlinePlayers().forEach(j1 -> {
-                    Bukkit.getOnlinePlayers().forEach(j2 -> {
-                        if (!j1.equals(j2)) {
-                            j1.hidePlayer(plugin, j2);
-                        }
-                    });
-                });
-            } else {
-                Bukkit.getOnlinePlayers().forEach(j1 -> {
-                    Bukkit.getOnlinePlayers().forEach(j2 -> {
-                        if (!j1.equals(j2)) {
-                            j1.showPlayer(plugin, j2);
-                        }
-                    });
-                });
-            }
-        });
+        // Cada jugador cambia lo que ve desde su propio hilo (en Folia, su región)
+        Bukkit.getOnlinePlayers().forEach(j1 -> plugin.getPlanificador().ejecutarEnEntidad(j1, () -> {
+            Bukkit.getOnlinePlayers().forEach(j2 -> {
+                if (!j1.equals(j2)) {
+                    if (ocultar) {
+                        j1.hidePlayer(plugin, j2);
+                    } else {
+                        j1.showPlayer(plugin, j2);
+                    }
+                }
+            });
+        }));
     }
 
     /**
@@ -654,6 +947,19 @@ public class GestorCinematicas {
                 .orElse(null);
     }
 
+    /**
+     * Obtiene información de depuración de la reproducción de un jugador y su tasa de actualización
+     */
+    public String obtenerDepuracionJugador(Player jugador) {
+        ProgresoCinematica progreso = obtenerProgresoCinematica(jugador);
+        if (progreso == null) {
+            return null;
+        }
+
+        return progreso.obtenerEstadoDebug() + "\n" +
+                reproductor.getDespachador().obtenerEstadoJugador(jugador.getUniqueId());
+    }
+
     /**
      * Verifica si un jugador está grabando
      */
@@ -672,6 +978,7 @@ public class GestorCinematicas {
      * Elimina una cinemática
      */
     public boolean eliminarCinematica(String nombre) {
+        cacheLineas.quitar(nombre);
         return cinematicas.remove(nombre) != null;
     }
 
@@ -679,6 +986,7 @@ public class GestorCinematicas {
      * Añade una cinemática
      */
     public void agregarCinematica(String nombre, Cinematica cinematica) {
+        cacheLineas.quitar(nombre);
         cinematicas.put(nombre, cinematica);
     }
 
@@ -689,6 +997,7 @@ public class GestorCinematicas {
         try {
             var objetoJson = config.getObjetoJson();
             cinematicas.clear();
+            invalidarLineasTiempo();
 
             for (var entrada : objetoJson.entrySet()) {
                 String nombre = entrada.getKey();
@@ -710,6 +1019,7 @@ public class GestorCinematicas {
             }
 
             plugin.getLogger().info("Cargadas " + cinematicas.size() + " cinemáticas");
+            precalentarLineasTiempo();
         } catch (Exception e) {
             plugin.getLogger().warning("Error al cargar cinemáticas: " + e.getMessage());
         }
@@ -734,8 +1044,11 @@ public class GestorCinematicas {
      * Obtiene estadísticas del sistema
      */
     public String obtenerEstadisticas() {
-        return String.format("Cinemáticas: %d, Grabando: %d, Reproduciendo: %d",
-                cinematicas.size(), grabando.size(), cinematicasEnProgreso.size());
+        return String.format("Cinemáticas: %d, Grabando: %d, Reproduciendo: %d, %s",
+                cinematicas.size(), grabando.size(), cinematicasEnProgreso.size(),
+                reproductor.getDespachador().obtenerEstadisticas() + ", " +
+                reproductor.getGobernador().obtenerEstado() + ", " +
+                cacheLineas.obtenerEstadisticas());
     }
 
     // Getters y Setters
@@ -812,6 +1125,34 @@ public class GestorCinematicas {
         return usarSistemaLegacy;
     }
 
+    public CacheLineasTiempo getCacheLineas() {
+        return cacheLineas;
+    }
+
+    public ReproductorCinematicas getReproductor() {
+        return reproductor;
+    }
+
+    public TablaMundos getTablaMundos() {
+        return tablaMundos;
+    }
+
+    public ControlAdmision getControlAdmision() {
+        return controlAdmision;
+    }
+
+    public ReproductorCinematicas.ModoCamara getModoCamara() {
+        return modoCamara;
+    }
+
+    public int getDuracionTeleportCamara() {
+        return duracionTeleportCamara;
+    }
+
+    public int getTamanoLoteTeleport() {
+        return tamanoLoteTeleport;
+    }
+
     /**
      * Clase para manejar el estado de grabación por partes
      */
@@ -819,4 +1160,14 @@ public class GestorCinematicas {
         public int parteActual = 1;
         public boolean grabandoParte = true;
     }
+
+    /**
+     * Resultado de solicitar una reproducción
+     */
+    public enum ResultadoReproduccion {
+        INICIADA,  // Empezó o se unió a una difusión
+        EN_COLA,         // Espera a que haya capacidad
+        EXCEDE_LIMITES,  // Supera por sí sola max_viewers o max_updates_per_tick y hay otras sesiones
+        RECHAZADA        // Cinemática inexistente, sin jugadores o cola llena
+    }
 }
\ No newline at end of file
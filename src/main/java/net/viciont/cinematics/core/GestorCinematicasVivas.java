@@ -27,11 +27,11 @@ public class GestorCinematicasVivas implements Listener {
         // Registrar eventos
         Bukkit.getPluginManager().registerEvents(this, plugin);
         
-        // Tarea para sincronizar posiciones
-        Bukkit.getScheduler().runTaskTimer(plugin, this::sincronizarPosiciones, 0L, 1L);
+        // Tarea para sincronizar posiciones (cada cinemática mueve a sus jugadores desde sus regiones)
+        plugin.getPlanificador().repetirGlobal(this::sincronizarPosiciones, 1L, 1L);
         
-        // Tarea de limpieza
-        Bukkit.getScheduler().runTaskTimerAsynchronously(plugin, this::limpiarCinematicasInactivas, 0L, 200L);
+        // Tarea de limpieza (en el hilo global: finalizar toca a los jugadores)
+        plugin.getPlanificador().repetirGlobal(this::limpiarCinematicasInactivas, 200L, 200L);
     }
     
     /**
@@ -75,12 +75,14 @@ public class GestorPackets {
     public void mantenerVisiblesTodos(List<UUID> jugadores) {
         if (!disponible) return;
 
-        org.bukkit.Bukkit.getScheduler().runTask(plugin, () -> {
-            for (UUID uuid1 : jugadores) {
-                Player j1 = org.bukkit.Bukkit.getPlayer(uuid1);
-                if (j1 == null || !j1.isOnline()) continue;
-
-                for (UUID uuid2 : jugadores) {
+        // Cada observador se actualiza desde su propio hilo (en Folia, su región)
+        List<UUID> copia = List.copyOf(jugadores);
+        for (UUID uuid1 : copia) {
+            Player j1 = org.bukkit.Bukkit.getPlayer(uuid1);
+            if (j1 == null || !j1.isOnline()) continue;
+
+            plugin.getPlanificador().ejecutarEnEntidad(j1, () -> {
+                for (UUID uuid2 : copia) {
                     if (uuid1.equals(uuid2)) continue;
 
                     Player j2 = org.bukkit.Bukkit.getPlayer(uuid2);
@@ -88,8 +90,8 @@ public class GestorPackets {
 
                     mantenerVisible(j1, j2);
                 }
-            }
-        });
+            });
+        }
     }
 
     /**
@@ -98,7 +100,7 @@ public class GestorPackets {
     public void teleportOptimizado(Player jugador, double x, double y, double z, float yaw, float pitch) {
         if (!disponible) {
             org.bukkit.Location loc = new org.bukkit.Location(jugador.getWorld(), x, y, z, yaw, pitch);
-            jugador.teleport(loc);
+            plugin.getPlanificador().teletransportar(jugador, loc);
             return;
         }
 
@@ -116,13 +118,12 @@ public class GestorPackets {
 
             protocolManager.sendServerPacket(jugador, packet);
 
-            org.bukkit.Bukkit.getScheduler().runTask(plugin, () -> {
-                jugador.teleport(new org.bukkit.Location(jugador.getWorld(), x, y, z, yaw, pitch));
-            });
+            plugin.getPlanificador().teletransportar(jugador,
+                    new org.bukkit.Location(jugador.getWorld(), x, y, z, yaw, pitch));
 
         } catch (Exception e) {
             org.bukkit.Location loc = new org.bukkit.Location(jugador.getWorld(), x, y, z, yaw, pitch);
-            jugador.teleport(loc);
+            plugin.getPlanificador().teletransportar(jugador, loc);
         }
     }
 
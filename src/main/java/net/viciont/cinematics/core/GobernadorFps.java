@@ -0,0 +1,118 @@
+package net.viciont.cinematics.core;
+
+import net.viciont.cinematics.ViciontCinematics;
+import org.bukkit.Bukkit;
+import org.bukkit.configuration.file.FileConfiguration;
+
+import java.util.List;
+
+/**
+ * Gobernador de FPS según la carga del servidor
+ * Observa el MSPT medio y baja la tasa de salida de las líneas de tiempo por escalones (60→30→20→10),
+ * con histéresis para no oscilar. La duración y los sonidos no cambian: solo se envían menos frames
+ *
+ * @author CrissyjuanxD
+ */
+public class GobernadorFps {
+
+    private final ViciontCinematics plugin;
+
+    private boolean habilitado;
+    private int[] niveles;
+    private double msptAlto;
+    private double msptBajo;
+    private int ticksEntreCambios;
+
+    // Escalón actual (0 = máxima calidad) y ticks desde el último cambio
+    private int nivel = 0;
+    private long ticksDesdeCambio = 0;
+    private double ultimoMspt = 0.0;
+
+    public GobernadorFps(ViciontCinematics plugin) {
+        this.plugin = plugin;
+        cargarConfiguracion();
+    }
+
+    /**
+     * Carga los escalones y umbrales desde la configuración
+     */
+    public void cargarConfiguracion() {
+        FileConfiguration config = plugin.getConfig();
+
+        this.habilitado = config.getBoolean("performance.adaptive_fps.enabled", true);
+        this.msptAlto = config.getDouble("performance.adaptive_fps.mspt_high", 45.0);
+        this.msptBajo = config.getDouble("performance.adaptive_fps.mspt_low", 35.0);
+        this.ticksEntreCambios = Math.max(1, config.getInt("performance.adaptive_fps.cooldown_ticks", 100));
+
+        List<Integer> lista = config.getIntegerList("performance.adaptive_fps.levels");
+        if (lista.isEmpty()) {
+            lista = List.of(60, 30, 20, 10);
+        }
+        this.niveles = lista.stream().mapToInt(Integer::intValue).filter(fps -> fps > 0).toArray();
+        if (niveles.length == 0) {
+            niveles = new int[]{60, 30, 20, 10};
+        }
+
+        this.nivel = 0;
+        this.ticksDesdeCambio = 0;
+    }
+
+    /**
+     * Lee el MSPT del servidor y sube o baja un escalón si hace falta; se llama una vez por tick
+     */
+    public void actualizar() {
+        ticksDesdeCambio++;
+        if (!habilitado) {
+            return;
+        }
+
+        try {
+            ultimoMspt = Bukkit.getAverageTickTime();
+        } catch (UnsupportedOperationException e) {
+            // Folia no tiene un MSPT global
+            habilitado = false;
+            plugin.getLogger().warning("MSPT global no disponible en este servidor, gobernador de FPS desactivado");
+            return;
+        }
+
+        if (ticksDesdeCambio < ticksEntreCambios) {
+            return;
+        }
+
+        if (ultimoMspt > msptAlto && nivel < niveles.length - 1) {
+            nivel++;
+            ticksDesdeCambio = 0;
+            plugin.getLogger().info("MSPT " + String.format("%.1f", ultimoMspt) + ": FPS de cinemáticas bajados a " + niveles[nivel]);
+        } else if (ultimoMspt < msptBajo && nivel > 0) {
+            nivel--;
+            ticksDesdeCambio = 0;
+            plugin.getLogger().info("MSPT " + String.format("%.1f", ultimoMspt) + ": FPS de cinemáticas subidos a " + niveles[nivel]);
+        }
+    }
+
+    /**
+     * Calcula cada cuántos frames de la línea de tiempo se envía uno
+     *
+     * @param periodoNanos periodo con el que se compiló la línea de tiempo
+     */
+    public int calcularPaso(long periodoNanos) {
+        if (!habilitado || nivel == 0) {
+            return 1;
+        }
+
+        double fpsLinea = 1_000_000_000.0 / periodoNanos;
+        return Math.max(1, (int) Math.round(fpsLinea / niveles[nivel]));
+    }
+
+    /**
+     * Obtiene información de estado para debugging
+     */
+    public String obtenerEstado() {
+        return String.format("Gobernador FPS: %s, nivel=%d (%d FPS), MSPT=%.1f",
+                habilitado ? "activo" : "inactivo", nivel, niveles[nivel], ultimoMspt);
+    }
+
+    public int getFpsMaximo() {
+        return niveles[nivel];
+    }
+}
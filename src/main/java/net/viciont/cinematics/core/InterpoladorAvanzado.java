@@ -1,7 +1,6 @@
 package net.viciont.cinematics.core;
 
 import net.viciont.cinematics.objects.Frame;
-import org.bukkit.util.Vector;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -14,11 +13,14 @@ import java.util.List;
  */
 public class InterpoladorAvanzado {
 
-    private static final double EPSILON = 0.001;
-    private static final double UMBRAL_ROTACION_RAPIDA = 90.0;
+    // Frames intermedios entre cada par de claves
+    private static final int INTERMEDIOS = 3;
+
+    private final NucleoInterpolacion nucleo =
+            new NucleoInterpolacion(InterpoladorFrames.TipoInterpolacion.CATMULL_ROM, false);
 
     /**
-     * Interpola frames a 60 FPS con rotaciones ultra suaves
+     * Interpola frames a 60 FPS con una spline Catmull-Rom centrípeta sobre las claves vecinas
      */
     public List<Frame> interpolar60FPS(List<Frame> framesOriginales) {
         if (framesOriginales.size() < 2) {
@@ -27,93 +29,12 @@ public class InterpoladorAvanzado {
 
         List<Frame> framesOptimizados = optimizarFrames(framesOriginales);
 
-        List<Frame> resultado = new ArrayList<>();
-        resultado.add(framesOptimizados.get(0));
-
-        for (int i = 0; i < framesOptimizados.size() - 1; i++) {
-            Frame actual = framesOptimizados.get(i);
-            Frame siguiente = framesOptimizados.get(i + 1);
-
-            List<Frame> intermedios = generarFramesIntermedios(actual, siguiente, 3);
-            resultado.addAll(intermedios);
-        }
-
-        resultado.add(framesOptimizados.get(framesOptimizados.size() - 1));
-
-        return resultado;
-    }
-
-    /**
-     * Genera frames intermedios entre dos frames con interpolación cúbica
-     */
-    private List<Frame> generarFramesIntermedios(Frame inicio, Frame fin, int cantidad) {
-        List<Frame> intermedios = new ArrayList<>();
-
-        if (!inicio.getMundo().equals(fin.getMundo())) {
-            return intermedios;
-        }
-
-        double diferenciaYaw = calcularDiferenciaAngulo(inicio.getYaw(), fin.getYaw());
-        double diferenciaPitch = calcularDiferenciaAngulo(inicio.getPitch(), fin.getPitch());
-
-        boolean rotacionRapida = Math.abs(diferenciaYaw) > UMBRAL_ROTACION_RAPIDA ||
-                                 Math.abs(diferenciaPitch) > UMBRAL_ROTACION_RAPIDA;
-
-        for (int i = 1; i <= cantidad; i++) {
-            double t = (double) i / (cantidad + 1);
-
-            double tSuave = rotacionRapida ? easeInOutQuint(t) : easeInOutCubic(t);
-
-            Vector posInicio = new Vector(inicio.getX(), inicio.getY(), inicio.getZ());
-            Vector posFin = new Vector(fin.getX(), fin.getY(), fin.getZ());
-
-            Vector posInterpolada = interpolarCatmullRom(posInicio, posFin, tSuave);
-
-            float yaw = interpolarAnguloSuave(inicio.getYaw(), fin.getYaw(), tSuave);
-            float pitch = interpolarAnguloSuave(inicio.getPitch(), fin.getPitch(), tSuave);
-
-            Frame frameIntermedio = new Frame(
-                    inicio.getMundo(),
-                    posInterpolada.getX(),
-                    posInterpolada.getY(),
-                    posInterpolada.getZ(),
-                    yaw,
-                    pitch
-            );
-
-            intermedios.add(frameIntermedio);
-        }
-
-        return intermedios;
-    }
-
-    /**
-     * Interpolación Catmull-Rom para movimientos más naturales
-     */
-    private Vector interpolarCatmullRom(Vector p1, Vector p2, double t) {
-        double t2 = t * t;
-        double t3 = t2 * t;
-
-        Vector direccion = p2.clone().subtract(p1);
-        double magnitud = direccion.length();
-
-        if (magnitud < EPSILON) {
-            return p1.clone();
-        }
-
-        direccion.normalize();
+        List<String> mundos = new ArrayList<>(1);
+        PistasPose claves = PistasPose.desdeFrames(framesOptimizados, mundos);
+        PistasPose salida = new PistasPose(NucleoInterpolacion.calcularTotal(claves.getTamano(), INTERMEDIOS));
+        nucleo.interpolar(claves, INTERMEDIOS, salida);
 
-        Vector p0 = p1.clone().subtract(direccion.clone().multiply(magnitud * 0.3));
-        Vector p3 = p2.clone().add(direccion.clone().multiply(magnitud * 0.3));
-
-        Vector resultado = new Vector();
-
-        resultado.add(p0.clone().multiply(-0.5 * t3 + t2 - 0.5 * t));
-        resultado.add(p1.clone().multiply(1.5 * t3 - 2.5 * t2 + 1.0));
-        resultado.add(p2.clone().multiply(-1.5 * t3 + 2.0 * t2 + 0.5 * t));
-        resultado.add(p3.clone().multiply(0.5 * t3 - 0.5 * t2));
-
-        return resultado;
+        return salida.aFrames(mundos);
     }
 
     /**
@@ -126,34 +47,6 @@ public class InterpoladorAvanzado {
         return diferencia;
     }
 
-    /**
-     * Interpola ángulos de forma ultra suave sin saltos
-     */
-    private float interpolarAnguloSuave(float inicio, float fin, double t) {
-        double diferencia = calcularDiferenciaAngulo(inicio, fin);
-
-        double anguloSuavizado = inicio + diferencia * t;
-
-        while (anguloSuavizado > 180) anguloSuavizado -= 360;
-        while (anguloSuavizado < -180) anguloSuavizado += 360;
-
-        return (float) anguloSuavizado;
-    }
-
-    /**
-     * Función de suavizado cúbica ease-in-out
-     */
-    private double easeInOutCubic(double t) {
-        return t < 0.5 ? 4 * t * t * t : 1 - Math.pow(-2 * t + 2, 3) / 2;
-    }
-
-    /**
-     * Función de suavizado quíntica para rotaciones rápidas
-     */
-    private double easeInOutQuint(double t) {
-        return t < 0.5 ? 16 * t * t * t * t * t : 1 - Math.pow(-2 * t + 2, 5) / 2;
-    }
-
     /**
      * Optimiza frames removiendo redundantes pero manteniendo detalle
      */
@@ -0,0 +1,15 @@
+package net.viciont.cinematics.core;
+
+/**
+ * Kernel alternativo para precalcular muestras de una curva
+ * Permite cargar KernelVectorial por nombre: solo se compila con el perfil simd
+ *
+ * @author CrissyjuanxD
+ */
+interface KernelMuestras {
+
+    /**
+     * Escribe las muestras [desde, hasta) de una curva que no sea CATMULL_ROM
+     */
+    void muestras(NucleoInterpolacion nucleo, CurvaCamara curva, int desde, int hasta, PistasPose salida);
+}
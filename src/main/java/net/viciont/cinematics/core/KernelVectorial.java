@@ -0,0 +1,94 @@
+package net.viciont.cinematics.core;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Kernel SIMD para precalcular muestras con la Vector API (jdk.incubator.vector)
+ * La posición de varias muestras se calcula por instrucción sobre las pistas x/y/z; la fracción
+ * y su easing salen de la tabla de la curva, y la rotación, con su normalización de ángulos,
+ * sigue siendo escalar
+ * Repite las operaciones del núcleo escalar en el mismo orden, así que el resultado es idéntico
+ * Solo se compila con el perfil simd de Maven y se carga por nombre si NucleoInterpolacion.configurarVectorial lo activa
+ *
+ * @author CrissyjuanxD
+ */
+class KernelVectorial implements KernelMuestras {
+
+    private static final VectorSpecies<Double> ESPECIE = DoubleVector.SPECIES_PREFERRED;
+
+    /**
+     * Escribe las muestras [desde, hasta) de una curva que no sea CATMULL_ROM
+     * Cada carril puede caer en un segmento distinto (a 60 FPS hay tres muestras por segmento), así que
+     * las claves de cada carril se leen con un gather; los bloques con un cambio de mundo o con la
+     * última clave van por el camino escalar
+     */
+    @Override
+    public void muestras(NucleoInterpolacion nucleo, CurvaCamara curva, int desde, int hasta, PistasPose salida) {
+        PistasPose claves = curva.getClaves();
+        Easing easing = nucleo.getEasingPosicion();
+        int ancho = ESPECIE.length();
+        int[] indices = new int[ancho];
+        double[] fracciones = new double[ancho];
+        double[] pesos = new double[ancho];
+
+        int k = desde;
+        for (; k + ancho <= hasta; k += ancho) {
+            if (!prepararBloque(curva, claves, k, indices, fracciones)) {
+                for (int m = k; m < k + ancho; m++) {
+                    nucleo.evaluar(curva, curva.posicionMuestra(m), salida, m);
+                }
+                continue;
+            }
+
+            for (int m = 0; m < ancho; m++) {
+                pesos[m] = easing.aplicar(fracciones[m]);
+            }
+            DoubleVector peso = DoubleVector.fromArray(ESPECIE, pesos, 0);
+            interpolarPista(claves.x, indices, peso, salida.x, k);
+            interpolarPista(claves.y, indices, peso, salida.y, k);
+            interpolarPista(claves.z, indices, peso, salida.z, k);
+
+            // La rotación se normaliza por muestra; las que caen sobre una clave la copian tal cual
+            for (int m = 0; m < ancho; m++) {
+                if (fracciones[m] == 0) {
+                    salida.copiar(k + m, claves, indices[m]);
+                } else {
+                    nucleo.interpolarRotacion(claves, indices[m], fracciones[m], salida, k + m);
+                }
+            }
+        }
+
+        for (; k < hasta; k++) {
+            nucleo.evaluar(curva, curva.posicionMuestra(k), salida, k);
+        }
+    }
+
+    /**
+     * Calcula la clave de origen y la fracción del segmento de cada carril del bloque
+     *
+     * @return false si algún carril está en la última clave o en un cambio de mundo
+     */
+    private static boolean prepararBloque(CurvaCamara curva, PistasPose claves, int k, int[] indices, double[] fracciones) {
+        int ultima = claves.getTamano() - 1;
+        for (int m = 0; m < indices.length; m++) {
+            double posicion = curva.posicionMuestra(k + m);
+            int i = (int) posicion;
+            if (i >= ultima || claves.mundo[i] != claves.mundo[i + 1]) {
+                return false;
+            }
+            indices[m] = i;
+            fracciones[m] = posicion - i;
+        }
+        return true;
+    }
+
+    /**
+     * pista[i] + (pista[i + 1] - pista[i]) · peso para cada carril, escrito en salida[k...]
+     */
+    private static void interpolarPista(double[] pista, int[] indices, DoubleVector peso, double[] salida, int k) {
+        DoubleVector a = DoubleVector.fromArray(ESPECIE, pista, 0, indices, 0);
+        DoubleVector b = DoubleVector.fromArray(ESPECIE, pista, 1, indices, 0);
+        b.sub(a).mul(peso).add(a).intoArray(salida, k);
+    }
+}
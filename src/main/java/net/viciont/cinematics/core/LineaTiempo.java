@@ -0,0 +1,218 @@
+package net.viciont.cinematics.core;
+
+import net.viciont.cinematics.objects.Cinematica;
+import org.bukkit.World;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.TreeMap;
+
+/**
+ * Línea de tiempo compilada de una cinemática
+ * Guarda la curva de cámara preparada junto con los sonidos y comandos indexados por frame de salida
+ * Los sonidos y comandos se guardan por tick de grabación y aquí se colocan en el primer frame de
+ * salida de su instante, así suenan en el mismo momento con cualquier FPS
+ * En modo streaming las muestras se evalúan al reproducirse desde las claves, así la memoria no crece
+ * con los frames interpolados y el primer frame sale sin esperar a interpolar toda la cinemática;
+ * precalculada, las muestras se guardan en arrays primitivos y reproducir no cuesta interpolación
+ *
+ * @author CrissyjuanxD
+ */
+public class LineaTiempo {
+
+    private final Cinematica origen;
+    private final int version;
+
+    // Los índices de mundo de las pistas son de la tabla global
+    private final TablaMundos tablaMundos;
+
+    private final CurvaCamara curva;
+    // Muestras ya evaluadas, o null en modo streaming
+    private final PistasPose precalculadas;
+    private final long periodoNanos;
+
+    // Pistas dispersas ordenadas por frame
+    private final int[] framesSonido;
+    private final Cinematica.SonidoCinematica[] sonidos;
+    private final int[] framesComando;
+    private final String[][] comandos;
+
+    private LineaTiempo(Cinematica origen, CurvaCamara curva, PistasPose precalculadas, TablaMundos tablaMundos) {
+        this.origen = origen;
+        this.tablaMundos = tablaMundos;
+        this.version = origen.getVersion();
+        this.curva = curva;
+        this.precalculadas = precalculadas;
+
+        this.periodoNanos = Math.round(1_000_000_000.0 / curva.getMuestrasPorSegundo());
+
+        // Si dos ticks caen en el mismo frame se conserva el primer sonido y se juntan los comandos
+        TreeMap<Integer, Cinematica.SonidoCinematica> sonidosPorFrame = new TreeMap<>();
+        new TreeMap<>(origen.getSonidos()).forEach((tick, sonido) -> {
+            int frame = frameDeTick(tick);
+            if (frame >= 0) {
+                sonidosPorFrame.putIfAbsent(frame, sonido);
+            }
+        });
+        this.framesSonido = sonidosPorFrame.keySet().stream().mapToInt(Integer::intValue).toArray();
+        this.sonidos = sonidosPorFrame.values().toArray(new Cinematica.SonidoCinematica[0]);
+
+        TreeMap<Integer, List<String>> comandosPorFrame = new TreeMap<>();
+        new TreeMap<>(origen.getEventosProgramados()).forEach((tick, lista) -> {
+            int frame = frameDeTick(tick);
+            if (frame >= 0 && !lista.isEmpty()) {
+                comandosPorFrame.computeIfAbsent(frame, f -> new ArrayList<>()).addAll(lista);
+            }
+        });
+        this.framesComando = comandosPorFrame.keySet().stream().mapToInt(Integer::intValue).toArray();
+        this.comandos = new String[framesComando.length][];
+        int i = 0;
+        for (List<String> lista : comandosPorFrame.values()) {
+            comandos[i++] = lista.toArray(new String[0]);
+        }
+    }
+
+    /**
+     * Frame de salida en el que se dispara un tick de la cinemática, o -1 si queda fuera de ella
+     */
+    private int frameDeTick(int tick) {
+        int ultimaClave = curva.getClaves().getTamano() - 1;
+        if (tick < 0 || tick > ultimaClave) {
+            return -1;
+        }
+        return Math.min(curva.getTotal() - 1, curva.muestraDesde(tick / curva.getClavesPorSegundo()));
+    }
+
+    /**
+     * Compila una línea de tiempo a partir de la curva preparada de una cinemática
+     * Los índices de mundo de la curva deben ser de la tabla indicada
+     *
+     * @param precalcular evaluar ya todas las muestras en lugar de hacerlo al reproducir
+     * @param umbralParalelo muestras a partir de las cuales se precalcula en paralelo
+     */
+    public static LineaTiempo compilar(Cinematica cinematica, CurvaCamara curva, TablaMundos tablaMundos,
+                                       boolean precalcular, int umbralParalelo) {
+        PistasPose precalculadas = null;
+        if (precalcular) {
+            precalculadas = new PistasPose(curva.getTotal());
+            curva.muestrasEnParalelo(precalculadas, umbralParalelo);
+        }
+        return new LineaTiempo(cinematica, curva, precalculadas, tablaMundos);
+    }
+
+    /**
+     * Verifica si la línea de tiempo sigue correspondiendo a la cinemática (sin ediciones posteriores)
+     */
+    public boolean esValidaPara(Cinematica cinematica) {
+        return origen == cinematica && version == cinematica.getVersion();
+    }
+
+    /**
+     * Escribe la muestra de un frame en salida[destino], evaluándola si no está precalculada
+     */
+    public void leer(int frame, PistasPose salida, int destino) {
+        if (precalculadas != null) {
+            salida.copiar(destino, precalculadas, frame);
+        } else {
+            curva.muestra(frame, salida, destino);
+        }
+    }
+
+    /**
+     * Abre un cursor para recorrer los frames; cada grupo de espectadores usa el suyo
+     */
+    public CursorFrames abrirCursor() {
+        return new CursorFrames(this);
+    }
+
+    /**
+     * Obtiene el mundo de un índice de la tabla, o null si el mundo no está cargado
+     */
+    World obtenerMundoPorIndice(int indice) {
+        return tablaMundos.obtener(indice);
+    }
+
+    /**
+     * Obtiene el mundo de un frame, o null si el mundo no está cargado
+     */
+    public World obtenerMundo(int frame) {
+        return tablaMundos.obtener(obtenerIndiceMundo(frame));
+    }
+
+    /**
+     * Obtiene el nombre del mundo de un frame
+     */
+    public String obtenerNombreMundo(int frame) {
+        return tablaMundos.obtenerNombre(obtenerIndiceMundo(frame));
+    }
+
+    private int obtenerIndiceMundo(int frame) {
+        return precalculadas != null ? precalculadas.getMundo(frame) : curva.indiceMundo(frame);
+    }
+
+    /**
+     * Estima la memoria de la línea de tiempo para el presupuesto de la caché
+     */
+    public long estimarBytes() {
+        long bytes = curva.estimarBytes() + (long) (framesSonido.length + framesComando.length) * 12;
+        if (precalculadas != null) {
+            bytes += precalculadas.estimarBytes();
+        }
+        return bytes;
+    }
+
+    /**
+     * Obtiene la pose en un instante (segundos desde el inicio), sin depender del ritmo de los frames
+     */
+    public void leerEnSegundo(double segundos, PistasPose salida, int destino) {
+        curva.pose(segundos, salida, destino);
+    }
+
+    /**
+     * Obtiene el frame que se muestra en un instante, ajustado a la línea
+     */
+    public int frameEnSegundo(double segundos) {
+        return (int) Math.max(0, Math.min(curva.getTotal() - 1L, (long) (segundos * 1_000_000_000L / periodoNanos)));
+    }
+
+    /**
+     * Tiempo que ocupa la línea al reproducirse: un periodo por frame
+     */
+    public double getDuracionSegundos() {
+        return curva.getTotal() * periodoNanos / 1_000_000_000.0;
+    }
+
+    /**
+     * Periodo entre frames de salida, en nanosegundos
+     */
+    public long getPeriodoNanos() {
+        return periodoNanos;
+    }
+
+    public int getTotalFrames() {
+        return curva.getTotal();
+    }
+
+    public boolean isPrecalculada() {
+        return precalculadas != null;
+    }
+
+    public Cinematica getOrigen() {
+        return origen;
+    }
+
+    public CurvaCamara getCurva() {
+        return curva;
+    }
+
+    public Cinematica.SonidoCinematica getSonido(int frame) {
+        int indice = Arrays.binarySearch(framesSonido, frame);
+        return indice >= 0 ? sonidos[indice] : null;
+    }
+
+    public String[] getComandos(int frame) {
+        int indice = Arrays.binarySearch(framesComando, frame);
+        return indice >= 0 ? comandos[indice] : null;
+    }
+}
@@ -0,0 +1,257 @@
+package net.viciont.cinematics.core;
+
+import net.viciont.cinematics.core.InterpoladorFrames.TipoInterpolacion;
+
+/**
+ * Núcleo de interpolación sobre pistas primitivas
+ * Lee los fotogramas clave y escribe cada muestra directamente en las pistas de salida:
+ * sin vectores temporales, sin un Frame por muestra y con los easings en tablas (Easing)
+ * Reproduce las mismas curvas que cada TipoInterpolacion; CATMULL_ROM usa además una spline
+ * centrípeta por tramo, preparada una vez por cinemática
+ *
+ * @author CrissyjuanxD
+ */
+public class NucleoInterpolacion {
+
+    // Suavizado cinematográfico aplicado a las rotaciones
+    private static final float FACTOR_SUAVIZADO_BASE = 0.12f;
+
+    // Kernel SIMD opcional para precalcular muestras; null si está desactivado, no se compiló o la JVM no tiene jdk.incubator.vector
+    private static volatile KernelMuestras vectorial;
+
+    private final TipoInterpolacion tipo;
+    private final boolean suavizadoRotacion;
+    private final Easing easingPosicion;
+    private final Easing easingRotacion;
+
+    public NucleoInterpolacion(TipoInterpolacion tipo, boolean suavizadoRotacion) {
+        this(tipo, suavizadoRotacion, null);
+    }
+
+    /**
+     * @param easing curva propia de la cinemática para posición y rotación, o null para las del tipo
+     *               (con CATMULL_ROM solo cambia la rotación: la posición va a velocidad constante)
+     */
+    public NucleoInterpolacion(TipoInterpolacion tipo, boolean suavizadoRotacion, Easing easing) {
+        this.tipo = tipo;
+        this.suavizadoRotacion = suavizadoRotacion;
+
+        if (easing != null) {
+            this.easingPosicion = easing;
+            this.easingRotacion = easing;
+        } else {
+            this.easingPosicion = switch (tipo) {
+                case SMOOTH -> Easing.obtener("ease-in-out-cubic");
+                case BEZIER -> Easing.obtener("bezier");
+                default -> Easing.LINEAL;
+            };
+            this.easingRotacion = tipo == TipoInterpolacion.SMOOTH || tipo == TipoInterpolacion.BEZIER
+                    ? Easing.obtener("ease-in-out-quart")
+                    : Easing.LINEAL;
+        }
+    }
+
+    /**
+     * Activa o desactiva el kernel SIMD para todas las curvas
+     * Requiere compilar con el perfil simd y arrancar la JVM con --add-modules jdk.incubator.vector;
+     * si falta cualquiera de los dos se sigue con el escalar
+     *
+     * @return true si el kernel SIMD quedó activo
+     */
+    public static boolean configurarVectorial(boolean activar) {
+        vectorial = null;
+        if (!activar || ModuleLayer.boot().findModule("jdk.incubator.vector").isEmpty()) {
+            return false;
+        }
+
+        try {
+            vectorial = (KernelMuestras) Class.forName("net.viciont.cinematics.core.KernelVectorial")
+                    .getDeclaredConstructor().newInstance();
+            return true;
+        } catch (ReflectiveOperationException | LinkageError e) {
+            return false;
+        }
+    }
+
+    public static boolean isVectorialActivo() {
+        return vectorial != null;
+    }
+
+    public TipoInterpolacion getTipo() {
+        return tipo;
+    }
+
+    public Easing getEasingPosicion() {
+        return easingPosicion;
+    }
+
+    public Easing getEasingRotacion() {
+        return easingRotacion;
+    }
+
+    /**
+     * Calcula cuántas muestras salen de una cantidad de fotogramas clave
+     */
+    public static int calcularTotal(int claves, int intermedios) {
+        return claves < 2 ? claves : (claves - 1) * (intermedios + 1) + 1;
+    }
+
+    /**
+     * Prepara la curva de unas claves con un número fijo de muestras intermedias entre cada par
+     */
+    public CurvaCamara preparar(PistasPose claves, int intermedios) {
+        return preparar(claves, 1.0, intermedios + 1.0);
+    }
+
+    /**
+     * Prepara la curva de unas claves; con CATMULL_ROM construye una spline por cada tramo del mismo mundo
+     *
+     * @param clavesPorSegundo ritmo al que se grabaron las claves
+     * @param muestrasPorSegundo ritmo de las muestras que se leen por índice
+     */
+    public CurvaCamara preparar(PistasPose claves, double clavesPorSegundo, double muestrasPorSegundo) {
+        int n = claves.getTamano();
+        SplineCentripeta[] splinePorClave = new SplineCentripeta[n];
+        int[] inicioTramo = new int[n];
+
+        int desde = 0;
+        while (desde < n) {
+            int hasta = desde;
+            while (hasta + 1 < n && claves.mundo[hasta + 1] == claves.mundo[desde]) {
+                hasta++;
+            }
+
+            SplineCentripeta spline = tipo == TipoInterpolacion.CATMULL_ROM && hasta > desde
+                    ? new SplineCentripeta(claves, desde, hasta)
+                    : null;
+            for (int i = desde; i <= hasta; i++) {
+                splinePorClave[i] = spline;
+                inicioTramo[i] = desde;
+            }
+            desde = hasta + 1;
+        }
+
+        return new CurvaCamara(this, claves, clavesPorSegundo, muestrasPorSegundo, splinePorClave, inicioTramo);
+    }
+
+    /**
+     * Interpola todas las muestras; la salida debe tener calcularTotal(claves, intermedios) entradas
+     */
+    public void interpolar(PistasPose claves, int intermedios, PistasPose salida) {
+        CurvaCamara curva = preparar(claves, intermedios);
+        curva.muestras(0, curva.getTotal(), salida);
+    }
+
+    /**
+     * Escribe las muestras [desde, hasta) de una curva en su misma posición de la salida
+     * Con el kernel SIMD activo las posiciones de cada segmento se calculan varias por instrucción;
+     * CATMULL_ROM siempre va por el camino escalar (cada muestra busca en la tabla de longitud de arco)
+     */
+    void muestras(CurvaCamara curva, int desde, int hasta, PistasPose salida) {
+        KernelMuestras kernel = vectorial;
+        if (kernel != null && tipo != TipoInterpolacion.CATMULL_ROM) {
+            kernel.muestras(this, curva, desde, hasta, salida);
+            return;
+        }
+
+        for (int k = desde; k < hasta; k++) {
+            evaluar(curva, curva.posicionMuestra(k), salida, k);
+        }
+    }
+
+    /**
+     * Escribe en salida[destino] la pose de una curva en una posición continua sobre sus claves
+     * (la parte entera es la clave y la decimal la fracción hasta la siguiente)
+     */
+    void evaluar(CurvaCamara curva, double posicion, PistasPose salida, int destino) {
+        PistasPose claves = curva.getClaves();
+        if (posicion >= claves.getTamano() - 1) {
+            salida.copiar(destino, claves, claves.getTamano() - 1);
+            return;
+        }
+
+        int i = Math.max(0, (int) posicion);
+        double t = Math.max(0.0, posicion - i);
+
+        SplineCentripeta spline = curva.splinePorClave[i];
+        if (spline != null && claves.mundo[i] == claves.mundo[i + 1]) {
+            interpolarSpline(curva, spline, i, t, salida, destino);
+        } else if (t == 0) {
+            salida.copiar(destino, claves, i);
+        } else {
+            interpolarMuestra(claves, i, t, salida, destino);
+        }
+    }
+
+    /**
+     * Muestra de CATMULL_ROM: la posición avanza a velocidad constante dentro del segmento
+     * de la clave i, de modo que cada clave se alcanza en su instante; la rotación sigue la misma fracción
+     */
+    private void interpolarSpline(CurvaCamara curva, SplineCentripeta spline, int i, double t,
+                                  PistasPose salida, int destino) {
+        PistasPose claves = curva.getClaves();
+        int b = i + 1;
+        salida.mundo[destino] = claves.mundo[i];
+        spline.evaluarSegmento(i - curva.inicioTramo[i], t, salida, destino);
+        salida.yaw[destino] = t == 0 ? claves.yaw[i] : suavizarAngulo(claves.yaw[i], claves.yaw[b], t);
+        salida.pitch[destino] = t == 0 ? claves.pitch[i] : suavizarAngulo(claves.pitch[i], claves.pitch[b], t);
+    }
+
+    /**
+     * Escribe en salida[k] la pose del segmento i (entre la clave i y la i+1) en la fracción t
+     */
+    public void interpolarMuestra(PistasPose claves, int i, double t, PistasPose salida, int k) {
+        int b = i + 1;
+        if (claves.mundo[i] != claves.mundo[b]) {
+            // Cambio de mundo: se mantiene la pose de origen hasta el salto
+            salida.copiar(k, claves, i);
+            return;
+        }
+
+        double tPosicion = easingPosicion.aplicar(t);
+
+        salida.x[k] = claves.x[i] + (claves.x[b] - claves.x[i]) * tPosicion;
+        salida.y[k] = claves.y[i] + (claves.y[b] - claves.y[i]) * tPosicion;
+        salida.z[k] = claves.z[i] + (claves.z[b] - claves.z[i]) * tPosicion;
+        interpolarRotacion(claves, i, t, salida, k);
+    }
+
+    /**
+     * Escribe el mundo y la rotación de salida[k] en el segmento i (mismo mundo) en la fracción t
+     */
+    void interpolarRotacion(PistasPose claves, int i, double t, PistasPose salida, int k) {
+        int b = i + 1;
+        salida.mundo[k] = claves.mundo[i];
+
+        double tRotacion = easingRotacion.aplicar(t);
+        if (tipo == TipoInterpolacion.LINEAR && !suavizadoRotacion) {
+            salida.yaw[k] = (float) (claves.yaw[i] + (claves.yaw[b] - claves.yaw[i]) * tRotacion);
+            salida.pitch[k] = (float) (claves.pitch[i] + (claves.pitch[b] - claves.pitch[i]) * tRotacion);
+            return;
+        }
+
+        salida.yaw[k] = suavizarAngulo(claves.yaw[i], claves.yaw[b], tRotacion);
+        salida.pitch[k] = suavizarAngulo(claves.pitch[i], claves.pitch[b], tRotacion);
+    }
+
+    /**
+     * Interpola un ángulo por el camino más corto, con el suavizado cinematográfico si está activo
+     */
+    private float suavizarAngulo(float a, float b, double t) {
+        float diferencia = normalizarAngulo(b - a);
+        float interpolado = a + diferencia * (float) t;
+
+        if (suavizadoRotacion) {
+            interpolado = a + (interpolado - a) * FACTOR_SUAVIZADO_BASE;
+        }
+
+        return normalizarAngulo(interpolado);
+    }
+
+    private static float normalizarAngulo(double angulo) {
+        angulo %= 360;
+        if (angulo < -180) angulo += 360;
+        if (angulo > 180) angulo -= 360;
+        return (float) angulo;
+    }
+}
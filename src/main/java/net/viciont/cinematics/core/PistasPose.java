@@ -0,0 +1,138 @@
+package net.viciont.cinematics.core;
+
+import net.viciont.cinematics.objects.Frame;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.ToIntFunction;
+
+/**
+ * Pistas de pose en arrays primitivos: una entrada por muestra, sin objetos por frame
+ * El mundo de cada muestra es un índice (de la tabla de mundos o de una tabla local)
+ *
+ * @author CrissyjuanxD
+ */
+public class PistasPose {
+
+    final int[] mundo;
+    final double[] x;
+    final double[] y;
+    final double[] z;
+    final float[] yaw;
+    final float[] pitch;
+
+    public PistasPose(int tamano) {
+        this.mundo = new int[tamano];
+        this.x = new double[tamano];
+        this.y = new double[tamano];
+        this.z = new double[tamano];
+        this.yaw = new float[tamano];
+        this.pitch = new float[tamano];
+    }
+
+    /**
+     * Vuelca una lista de frames en pistas
+     *
+     * @param indiceMundo traduce el nombre del mundo a su índice
+     */
+    public static PistasPose desdeFrames(List<Frame> frames, ToIntFunction<String> indiceMundo) {
+        PistasPose pistas = new PistasPose(frames.size());
+
+        String mundoAnterior = null;
+        int indice = -1;
+        for (int i = 0; i < frames.size(); i++) {
+            Frame frame = frames.get(i);
+
+            // El nombre solo se traduce al cambiar de mundo entre tramos
+            if (!frame.getMundo().equals(mundoAnterior)) {
+                mundoAnterior = frame.getMundo();
+                indice = indiceMundo.applyAsInt(mundoAnterior);
+            }
+
+            pistas.escribir(i, indice, frame.getX(), frame.getY(), frame.getZ(), frame.getYaw(), frame.getPitch());
+        }
+
+        return pistas;
+    }
+
+    /**
+     * Vuelca una lista de frames en pistas con índices de mundo locales
+     *
+     * @param mundos recibe los nombres de mundo; el índice de cada muestra es su posición en la lista
+     */
+    public static PistasPose desdeFrames(List<Frame> frames, List<String> mundos) {
+        return desdeFrames(frames, nombre -> {
+            int indice = mundos.indexOf(nombre);
+            if (indice < 0) {
+                indice = mundos.size();
+                mundos.add(nombre);
+            }
+            return indice;
+        });
+    }
+
+    /**
+     * Convierte las pistas en frames usando la lista de nombres de mundo local
+     */
+    public List<Frame> aFrames(List<String> mundos) {
+        List<Frame> frames = new ArrayList<>(getTamano());
+        for (int i = 0; i < getTamano(); i++) {
+            frames.add(new Frame(mundos.get(mundo[i]), x[i], y[i], z[i], yaw[i], pitch[i]));
+        }
+        return frames;
+    }
+
+    /**
+     * Escribe una muestra completa
+     */
+    public void escribir(int i, int indiceMundo, double px, double py, double pz, float pyaw, float ppitch) {
+        mundo[i] = indiceMundo;
+        x[i] = px;
+        y[i] = py;
+        z[i] = pz;
+        yaw[i] = pyaw;
+        pitch[i] = ppitch;
+    }
+
+    /**
+     * Copia una muestra de otras pistas
+     */
+    public void copiar(int i, PistasPose origen, int j) {
+        escribir(i, origen.mundo[j], origen.x[j], origen.y[j], origen.z[j], origen.yaw[j], origen.pitch[j]);
+    }
+
+    /**
+     * Estima la memoria de las pistas: mundo, tres coordenadas y dos ángulos por muestra
+     */
+    public long estimarBytes() {
+        return (long) getTamano() * (4 + 3 * 8 + 2 * 4);
+    }
+
+    public int getTamano() {
+        return x.length;
+    }
+
+    public int getMundo(int i) {
+        return mundo[i];
+    }
+
+    public double getX(int i) {
+        return x[i];
+    }
+
+    public double getY(int i) {
+        return y[i];
+    }
+
+    public double getZ(int i) {
+        return z[i];
+    }
+
+    public float getYaw(int i) {
+        return yaw[i];
+    }
+
+    public float getPitch(int i) {
+        return pitch[i];
+    }
+}
@@ -0,0 +1,217 @@
+package net.viciont.cinematics.core;
+
+import io.papermc.paper.threadedregions.scheduler.ScheduledTask;
+import net.viciont.cinematics.ViciontCinematics;
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.entity.Entity;
+import org.bukkit.scheduler.BukkitTask;
+
+/**
+ * Abstracción del planificador de tareas
+ * En Folia usa los planificadores por región y por entidad de Paper, de modo que las
+ * reproducciones de regiones distintas avanzan en paralelo; en Paper/Spigot usa el scheduler de Bukkit
+ *
+ * @author CrissyjuanxD
+ */
+public class PlanificadorTareas {
+
+    private final ViciontCinematics plugin;
+    private final boolean folia;
+
+    public PlanificadorTareas(ViciontCinematics plugin) {
+        this.plugin = plugin;
+        this.folia = detectarFolia();
+
+        plugin.getLogger().info("Planificador de tareas: " + (folia ? "regiones de Folia" : "Bukkit"));
+    }
+
+    private static boolean detectarFolia() {
+        try {
+            Class.forName("io.papermc.paper.threadedregions.RegionizedServer");
+            return true;
+        } catch (ClassNotFoundException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Ejecuta una tarea repetitiva global (hilo principal o región global de Folia)
+     */
+    public Tarea repetirGlobal(Runnable tarea, long retrasoTicks, long periodoTicks) {
+        if (folia) {
+            ScheduledTask programada = Bukkit.getGlobalRegionScheduler().runAtFixedRate(plugin,
+                    t -> tarea.run(), Math.max(1L, retrasoTicks), periodoTicks);
+            return new TareaFolia(programada);
+        }
+
+        return new TareaBukkit(Bukkit.getScheduler().runTaskTimer(plugin, tarea, retrasoTicks, periodoTicks));
+    }
+
+    /**
+     * Ejecuta una tarea repetitiva en la región que contiene la ubicación
+     * Sin Folia equivale a una tarea repetitiva del hilo principal
+     */
+    public Tarea repetirEnRegion(Location ubicacion, Runnable tarea, long retrasoTicks, long periodoTicks) {
+        if (folia) {
+            ScheduledTask programada = Bukkit.getRegionScheduler().runAtFixedRate(plugin, ubicacion,
+                    t -> tarea.run(), Math.max(1L, retrasoTicks), periodoTicks);
+            return new TareaFolia(programada);
+        }
+
+        return new TareaBukkit(Bukkit.getScheduler().runTaskTimer(plugin, tarea, retrasoTicks, periodoTicks));
+    }
+
+    /**
+     * Ejecuta una tarea en el hilo global; si ya estamos en él se ejecuta en el acto
+     */
+    public void ejecutarGlobal(Runnable tarea) {
+        if (folia) {
+            Bukkit.getGlobalRegionScheduler().execute(plugin, tarea);
+        } else if (Bukkit.isPrimaryThread()) {
+            tarea.run();
+        } else {
+            Bukkit.getScheduler().runTask(plugin, tarea);
+        }
+    }
+
+    /**
+     * Ejecuta una tarea en el hilo global en el siguiente tick
+     */
+    public void ejecutarGlobalSiguienteTick(Runnable tarea) {
+        if (folia) {
+            Bukkit.getGlobalRegionScheduler().run(plugin, t -> tarea.run());
+        } else {
+            Bukkit.getScheduler().runTask(plugin, tarea);
+        }
+    }
+
+    /**
+     * Ejecuta una tarea fuera de los hilos del servidor
+     */
+    public void ejecutarAsincrono(Runnable tarea) {
+        if (folia) {
+            Bukkit.getAsyncScheduler().runNow(plugin, t -> tarea.run());
+        } else {
+            Bukkit.getScheduler().runTaskAsynchronously(plugin, tarea);
+        }
+    }
+
+    /**
+     * Ejecuta una tarea en el hilo dueño de la entidad; si ya estamos en él se ejecuta en el acto
+     */
+    public void ejecutarEnEntidad(Entity entidad, Runnable tarea) {
+        if (folia) {
+            if (Bukkit.isOwnedByCurrentRegion(entidad)) {
+                tarea.run();
+            } else {
+                entidad.getScheduler().execute(plugin, tarea, null, 1L);
+            }
+        } else if (Bukkit.isPrimaryThread()) {
+            tarea.run();
+        } else {
+            Bukkit.getScheduler().runTask(plugin, tarea);
+        }
+    }
+
+    /**
+     * Ejecuta una tarea en el hilo dueño de la entidad tras unos ticks
+     * En Folia la tarea se descarta si la entidad deja de existir antes
+     */
+    public void ejecutarEnEntidadDespues(Entity entidad, Runnable tarea, long retrasoTicks) {
+        if (folia) {
+            entidad.getScheduler().runDelayed(plugin, t -> tarea.run(), null, Math.max(1L, retrasoTicks));
+        } else {
+            Bukkit.getScheduler().runTaskLater(plugin, tarea, retrasoTicks);
+        }
+    }
+
+    /**
+     * Teletransporta una entidad desde cualquier hilo
+     * En Folia el teleport es asíncrono y se lanza desde la región de la entidad
+     */
+    public void teletransportar(Entity entidad, Location destino) {
+        if (folia) {
+            ejecutarEnEntidad(entidad, () -> entidad.teleportAsync(destino));
+        } else {
+            ejecutarEnEntidad(entidad, () -> entidad.teleport(destino));
+        }
+    }
+
+    /**
+     * Teletransporta una entidad a una ubicación del pool y la devuelve cuando el teleport termina
+     *
+     * @param alTerminar se ejecuta al terminar el teleport, en el hilo que lo completó
+     */
+    public void teletransportar(Entity entidad, Location destino, PoolUbicaciones pool, Runnable alTerminar) {
+        if (folia) {
+            ejecutarEnEntidad(entidad, () -> entidad.teleportAsync(destino)
+                    .whenComplete((resultado, error) -> {
+                        pool.devolver(destino);
+                        alTerminar.run();
+                    }));
+        } else if (Bukkit.isPrimaryThread()) {
+            teletransportarSincrono(entidad, destino, pool, alTerminar);
+        } else {
+            Bukkit.getScheduler().runTask(plugin, () -> teletransportarSincrono(entidad, destino, pool, alTerminar));
+        }
+    }
+
+    private static void teletransportarSincrono(Entity entidad, Location destino, PoolUbicaciones pool, Runnable alTerminar) {
+        try {
+            entidad.teleport(destino);
+        } finally {
+            pool.devolver(destino);
+            alTerminar.run();
+        }
+    }
+
+    public boolean isFolia() {
+        return folia;
+    }
+
+    /**
+     * Tarea programada, independiente del planificador que la ejecuta
+     */
+    public interface Tarea {
+        void cancelar();
+
+        boolean isCancelada();
+    }
+
+    private static class TareaBukkit implements Tarea {
+        private final BukkitTask tarea;
+
+        private TareaBukkit(BukkitTask tarea) {
+            this.tarea = tarea;
+        }
+
+        @Override
+        public void cancelar() {
+            tarea.cancel();
+        }
+
+        @Override
+        public boolean isCancelada() {
+            return tarea.isCancelled();
+        }
+    }
+
+    private static class TareaFolia implements Tarea {
+        private final ScheduledTask tarea;
+
+        private TareaFolia(ScheduledTask tarea) {
+            this.tarea = tarea;
+        }
+
+        @Override
+        public void cancelar() {
+            tarea.cancel();
+        }
+
+        @Override
+        public boolean isCancelada() {
+            return tarea.isCancelled();
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package net.viciont.cinematics.core;
+
+import org.bukkit.Location;
+import org.bukkit.World;
+
+import java.util.ArrayDeque;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Pool acotado de objetos Location para los teleports de la reproducción
+ * Las ubicaciones se piden con la pose ya escrita y se devuelven cuando el teleport termina;
+ * no se indexan por coordenadas, cualquier ubicación libre sirve para cualquier pose
+ * Está dividido en franjas elegidas por hilo para que las regiones de Folia no compitan por un
+ * mismo bloqueo; si la franja propia está vacía se toma prestada una de otra franja
+ *
+ * @author CrissyjuanxD
+ */
+public class PoolUbicaciones {
+
+    private final Franja[] franjas;
+    private final int mascara;
+
+    private final LongAdder aciertos = new LongAdder();
+    private final LongAdder fallos = new LongAdder();
+    private final LongAdder descartes = new LongAdder();
+
+    /**
+     * @param capacidad máximo total de ubicaciones libres guardadas (0 = sin pool)
+     */
+    public PoolUbicaciones(int capacidad) {
+        int numeroFranjas = Integer.highestOneBit(Math.max(1, Runtime.getRuntime().availableProcessors()));
+        numeroFranjas = Math.max(1, Math.min(numeroFranjas, Math.max(1, capacidad / 16)));
+
+        this.franjas = new Franja[numeroFranjas];
+        this.mascara = numeroFranjas - 1;
+
+        int capacidadFranja = Math.max(0, capacidad) / numeroFranjas;
+        for (int i = 0; i < numeroFranjas; i++) {
+            franjas[i] = new Franja(capacidadFranja);
+        }
+    }
+
+    /**
+     * Obtiene una ubicación con la pose indicada, reutilizando una libre si la hay
+     */
+    public Location obtener(World mundo, double x, double y, double z, float yaw, float pitch) {
+        int propia = franjaActual();
+        Location ubicacion = franjas[propia].sacar();
+
+        for (int i = 1; ubicacion == null && i < franjas.length; i++) {
+            ubicacion = franjas[(propia + i) & mascara].sacar();
+        }
+
+        if (ubicacion == null) {
+            fallos.increment();
+            return new Location(mundo, x, y, z, yaw, pitch);
+        }
+
+        aciertos.increment();
+        ubicacion.setWorld(mundo);
+        ubicacion.setX(x);
+        ubicacion.setY(y);
+        ubicacion.setZ(z);
+        ubicacion.setYaw(yaw);
+        ubicacion.setPitch(pitch);
+        return ubicacion;
+    }
+
+    /**
+     * Devuelve una ubicación al pool; si la franja está llena se descarta
+     * No debe usarse la ubicación después de devolverla
+     */
+    public void devolver(Location ubicacion) {
+        // Sin referencia al mundo mientras está libre, para no retener mundos descargados
+        ubicacion.setWorld(null);
+
+        if (!franjas[franjaActual()].meter(ubicacion)) {
+            descartes.increment();
+        }
+    }
+
+    private int franjaActual() {
+        return (int) Thread.currentThread().threadId() & mascara;
+    }
+
+    /**
+     * Obtiene los contadores del pool
+     */
+    public String obtenerEstadisticas() {
+        long hits = aciertos.sum();
+        long misses = fallos.sum();
+        long total = hits + misses;
+        return String.format("Pool de ubicaciones: aciertos %d, fallos %d (%.1f%% reutilizadas), descartes %d, libres %d",
+                hits, misses, total == 0 ? 0.0 : hits * 100.0 / total, descartes.sum(), getLibres());
+    }
+
+    public long getAciertos() {
+        return aciertos.sum();
+    }
+
+    public long getFallos() {
+        return fallos.sum();
+    }
+
+    public long getDescartes() {
+        return descartes.sum();
+    }
+
+    public int getLibres() {
+        int libres = 0;
+        for (Franja franja : franjas) {
+            libres += franja.tamano();
+        }
+        return libres;
+    }
+
+    /**
+     * Pila de ubicaciones libres con su propio bloqueo
+     */
+    private static class Franja {
+        private final ArrayDeque<Location> libres;
+        private final int capacidad;
+
+        private Franja(int capacidad) {
+            this.capacidad = capacidad;
+            this.libres = new ArrayDeque<>(Math.min(capacidad, 256));
+        }
+
+        private synchronized Location sacar() {
+            return libres.pollLast();
+        }
+
+        private synchronized boolean meter(Location ubicacion) {
+            if (libres.size() >= capacidad) {
+                return false;
+            }
+            libres.addLast(ubicacion);
+            return true;
+        }
+
+        private synchronized int tamano() {
+            return libres.size();
+        }
+    }
+}
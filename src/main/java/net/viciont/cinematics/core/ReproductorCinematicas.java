@@ -0,0 +1,450 @@
+package net.viciont.cinematics.core;
+
+import net.viciont.cinematics.ViciontCinematics;
+import net.viciont.cinematics.events.CinematicaFinEvent;
+import net.viciont.cinematics.events.CinematicaInicioEvent;
+import net.viciont.cinematics.events.CinematicaTickEvent;
+import net.viciont.cinematics.objects.Cinematica;
+import net.viciont.cinematics.objects.GrupoEspectadores;
+import net.viciont.cinematics.objects.ProgresoCinematica;
+import net.viciont.cinematics.objects.ProgresoCinematica.FaseReproduccion;
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.entity.Player;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Motor de reproducción basado en ticks
+ * Una única tarea repetitiva en el hilo principal avanza todas las cinemáticas
+ * activas usando el cursor de frames de cada ProgresoCinematica, sin hilos bloqueados
+ * En Folia cada reproducción avanza en la región donde empieza, en paralelo con las demás,
+ * y la tarea global solo reparte tareas y aplica las poses pendientes
+ *
+ * @author CrissyjuanxD
+ */
+public class ReproductorCinematicas {
+
+    private final ViciontCinematics plugin;
+    private final GestorCinematicas gestor;
+
+    // Buffer reutilizable para no copiar la lista de sesiones en cada tick
+    private final List<ProgresoCinematica> sesionesTick = new ArrayList<>();
+
+    // Última pose pendiente de cada espectador, aplicada una vez por tick
+    private final DespachadorPoses despachador;
+
+    // Baja la tasa de salida cuando el servidor va cargado
+    private final GobernadorFps gobernador;
+
+    private final PlanificadorTareas planificador;
+
+    // Tareas por reproducción (solo en Folia)
+    private final Map<ProgresoCinematica, PlanificadorTareas.Tarea> tareasRegion = new ConcurrentHashMap<>();
+
+    private PlanificadorTareas.Tarea tarea;
+
+    public ReproductorCinematicas(ViciontCinematics plugin, GestorCinematicas gestor) {
+        this.plugin = plugin;
+        this.gestor = gestor;
+        this.planificador = plugin.getPlanificador();
+        this.despachador = new DespachadorPoses(plugin);
+        this.gobernador = new GobernadorFps(plugin);
+    }
+
+    /**
+     * Inicia la tarea repetitiva del reproductor
+     */
+    public void iniciar() {
+        if (tarea != null && !tarea.isCancelada()) {
+            return;
+        }
+
+        tarea = planificador.repetirGlobal(this::procesarTick, 1L, 1L);
+    }
+
+    /**
+     * Detiene la tarea repetitiva del reproductor
+     */
+    public void detener() {
+        if (tarea != null) {
+            tarea.cancelar();
+            tarea = null;
+        }
+
+        tareasRegion.values().forEach(PlanificadorTareas.Tarea::cancelar);
+        tareasRegion.clear();
+        despachador.limpiar();
+    }
+
+    /**
+     * Avanza todas las reproducciones activas un tick
+     */
+    private void procesarTick() {
+        gobernador.actualizar();
+        gestor.procesarColaAdmision();
+        gestor.copiarSesionesActivas(sesionesTick);
+
+        // Sesiones terminadas fuera del reproductor: cancelar() ya detuvo su tarea, solo falta soltarlas
+        if (!tareasRegion.isEmpty()) {
+            tareasRegion.keySet().removeIf(progreso -> !progreso.isActiva());
+        }
+
+        try {
+            for (ProgresoCinematica progreso : sesionesTick) {
+                if (planificador.isFolia()) {
+                    asegurarTareaRegion(progreso);
+                } else {
+                    avanzarSeguro(progreso);
+                }
+            }
+        } finally {
+            sesionesTick.clear();
+        }
+
+        despachador.vaciar(gestor.getTamanoLoteTeleport());
+    }
+
+    /**
+     * Crea la tarea de la región donde empieza la reproducción si aún no la tiene (Folia)
+     */
+    private void asegurarTareaRegion(ProgresoCinematica progreso) {
+        if (tareasRegion.containsKey(progreso)) {
+            return;
+        }
+
+        LineaTiempo linea = progreso.getLineaTiempo(0);
+        World mundo = null;
+        CursorFrames cursor = linea.abrirCursor();
+        if (linea.getTotalFrames() > 0) {
+            cursor.mover(0);
+            mundo = cursor.getMundo();
+        }
+        Location inicio = mundo != null
+                ? new Location(mundo, cursor.getX(), cursor.getY(), cursor.getZ())
+                : Bukkit.getWorlds().get(0).getSpawnLocation();
+
+        PlanificadorTareas.Tarea tareaRegion = planificador.repetirEnRegion(inicio, () -> avanzarSeguro(progreso), 1L, 1L);
+        tareasRegion.put(progreso, tareaRegion);
+        // Se cancela con la sesión aunque esta termine sin pasar por terminar()
+        progreso.registrarTarea(tareaRegion);
+    }
+
+    /**
+     * Avanza una reproducción con su monitor tomado: los comandos y la admisión la modifican desde otros hilos
+     */
+    private void avanzarSeguro(ProgresoCinematica progreso) {
+        synchronized (progreso) {
+            try {
+                avanzar(progreso);
+            } catch (Exception e) {
+                plugin.getLogger().warning("Error al avanzar cinemática: " + e.getMessage());
+                terminar(progreso);
+            }
+        }
+    }
+
+    /**
+     * Avanza una reproducción: cada grupo de espectadores según su propia fase
+     * La sesión termina cuando todos los grupos completaron su recorrido
+     */
+    private void avanzar(ProgresoCinematica progreso) {
+        if (!progreso.isActiva() || progreso.isPausada()) {
+            return;
+        }
+
+        List<GrupoEspectadores> grupos = progreso.getGrupos();
+        boolean todosTerminados = true;
+
+        // Recorrido por índice: un comando programado puede modificar los grupos
+        for (int i = 0; i < grupos.size(); i++) {
+            GrupoEspectadores grupo = grupos.get(i);
+
+            switch (grupo.getFase()) {
+                case FADE_INICIAL -> procesarFadeInicial(progreso, grupo);
+                case REPRODUCIENDO -> procesarFrames(progreso, grupo);
+                case FADE_FINAL -> procesarFadeFinal(grupo);
+                default -> {
+                }
+            }
+
+            if (!progreso.isActiva()) {
+                return;
+            }
+            if (!grupo.haTerminado()) {
+                todosTerminados = false;
+            }
+        }
+
+        progreso.incrementarTicksSesion();
+        Bukkit.getPluginManager().callEvent(new CinematicaTickEvent(progreso));
+
+        if (todosTerminados) {
+            liberarEspectadores(progreso, progreso.getEspectadores());
+            if (gestor.isEfectoFade()) {
+                gestor.restaurarEspectadores(progreso);
+            }
+            terminar(progreso);
+        }
+    }
+
+    private void procesarFadeInicial(ProgresoCinematica progreso, GrupoEspectadores grupo) {
+        if (!gestor.isEfectoFade()) {
+            iniciarReproduccion(progreso, grupo);
+            return;
+        }
+
+        long tick = grupo.incrementarTicksEnFase();
+        int fadeIn = plugin.getConfig().getInt("effects.initial.fade_in_duration", 20);
+
+        if (tick == 0) {
+            int fadeStay = plugin.getConfig().getInt("effects.initial.fade_stay_duration", 60);
+            int fadeOut = plugin.getConfig().getInt("effects.initial.fade_out_duration", 40);
+            gestor.aplicarFadeInicial(grupo.getEspectadores(), fadeIn, fadeStay, fadeOut);
+        }
+
+        // La cinemática empieza durante el stay del fade
+        if (tick >= fadeIn) {
+            iniciarReproduccion(progreso, grupo);
+        }
+    }
+
+    private void iniciarReproduccion(ProgresoCinematica progreso, GrupoEspectadores grupo) {
+        grupo.cambiarFase(FaseReproduccion.REPRODUCIENDO);
+        grupo.iniciarReloj(System.nanoTime());
+
+        // El evento de inicio se dispara una sola vez por sesión, con el primer grupo;
+        // los grupos que llegan después se preparan aquí
+        if (!progreso.isIniciada()) {
+            progreso.marcarIniciada();
+            Bukkit.getPluginManager().callEvent(new CinematicaInicioEvent(progreso));
+        } else {
+            gestor.prepararEspectadoresTardios(progreso, grupo.getEspectadores());
+        }
+
+        procesarFrames(progreso, grupo);
+    }
+
+    /**
+     * Mueve el cursor del grupo hasta el frame que corresponde al reloj monotónico
+     * El frame N vence en inicio + N·periodo, así el tiempo de cada tick y sus retrasos no se acumulan
+     * Solo se envía el último frame vencido; los atrasados se saltan y solo disparan sonidos y eventos
+     * Con el servidor cargado el gobernador reduce los envíos a uno cada N frames, sin tocar el reloj
+     * Los comandos programados solo los dispara el grupo líder para no repetirlos
+     */
+    private void procesarFrames(ProgresoCinematica progreso, GrupoEspectadores grupo) {
+        if (!progreso.isActiva()) {
+            return;
+        }
+
+        int cinematica = grupo.getCinematicaActual();
+        LineaTiempo linea = progreso.getLineaTiempo(cinematica);
+        grupo.incrementarTicksEnFase();
+        long periodo = linea.getPeriodoNanos();
+        long transcurrido = System.nanoTime() - grupo.getInicioNanos();
+        int objetivo = transcurrido < 0 ? -1 : (int) Math.min(linea.getTotalFrames() - 1L, transcurrido / periodo);
+
+        if (objetivo > grupo.getFrameActual()) {
+            boolean lider = grupo == progreso.getGrupoLider();
+
+            for (int i = grupo.getFrameActual() + 1; i <= objetivo; i++) {
+                Cinematica.SonidoCinematica sonido = linea.getSonido(i);
+                if (sonido != null) {
+                    gestor.reproducirSonido(grupo.getEspectadores(), sonido);
+                }
+                if (lider) {
+                    progreso.verificarEventos(cinematica, i);
+                }
+            }
+
+            // Frame de salida: múltiplo del paso del gobernador, salvo el último que siempre se envía
+            int paso = gobernador.calcularPaso(periodo);
+            boolean ultimo = objetivo == linea.getTotalFrames() - 1;
+            boolean enviar = ultimo || Math.floorDiv(objetivo, paso) > Math.floorDiv(grupo.getFrameActual(), paso);
+            int salida = ultimo ? objetivo : objetivo - objetivo % paso;
+
+            // Los frames que vencieron antes del objetivo los salta el reloj; el objetivo, si no se envía, el paso
+            int saltados = objetivo - grupo.getFrameActual() - 1;
+            int omitidos = enviar ? 0 : 1;
+            despachador.registrarCoalescidas((long) (saltados + omitidos) * grupo.getEspectadores().size());
+            grupo.moverCursor(objetivo);
+
+            // El retraso se mide contra el vencimiento del objetivo, no del frame redondeado al paso
+            progreso.registrarAvance(transcurrido - objetivo * periodo, saltados, enviar);
+            if (enviar) {
+                if (!enviarFrame(grupo, linea, salida)) {
+                    abortarPorMundo(progreso, linea, salida);
+                    return;
+                }
+            }
+        }
+
+        if (grupo.getFrameActual() >= linea.getTotalFrames() - 1) {
+            if (grupo.avanzarCinematica(progreso.getSecuencia().size())) {
+                // La siguiente cinemática continúa el mismo calendario, sin perder el retraso acumulado
+                grupo.iniciarReloj(grupo.getInicioNanos() + linea.getTotalFrames() * periodo);
+            } else {
+                grupo.cambiarFase(gestor.isEfectoFade() ? FaseReproduccion.FADE_FINAL : FaseReproduccion.FINALIZADA);
+            }
+        }
+    }
+
+    /**
+     * Envía un frame a los espectadores del grupo
+     *
+     * @return false si el mundo del frame no está cargado
+     */
+    private boolean enviarFrame(GrupoEspectadores grupo, LineaTiempo linea, int frame) {
+        // El cursor del grupo evalúa la muestra una sola vez para todos sus espectadores
+        CursorFrames cursor = grupo.obtenerCursor(linea);
+        cursor.mover(frame);
+
+        World mundo = cursor.getMundo();
+        if (mundo == null) {
+            return false;
+        }
+
+        if (gestor.getModoCamara() == ModoCamara.ENTITY) {
+            // La cámara se mueve de forma síncrona, así que la ubicación vuelve al pool en el acto
+            PoolUbicaciones pool = despachador.getPool();
+            Location loc = pool.obtener(mundo, cursor.getX(), cursor.getY(), cursor.getZ(),
+                    cursor.getYaw(), cursor.getPitch());
+            moverCamara(grupo, loc);
+            pool.devolver(loc);
+            return true;
+        }
+
+        for (UUID uuid : grupo.getEspectadores()) {
+            despachador.publicar(uuid, mundo, cursor.getX(), cursor.getY(), cursor.getZ(),
+                    cursor.getYaw(), cursor.getPitch());
+        }
+        return true;
+    }
+
+    /**
+     * Termina la sesión cuando un frame apunta a un mundo descargado, devolviendo a los espectadores
+     */
+    private void abortarPorMundo(ProgresoCinematica progreso, LineaTiempo linea, int frame) {
+        plugin.getLogger().warning("Cinemática '" + linea.getOrigen().getNombre() + "' interrumpida en el frame "
+                + frame + ": el mundo '" + linea.obtenerNombreMundo(frame) + "' no está cargado");
+
+        liberarEspectadores(progreso, progreso.getEspectadores());
+        gestor.restaurarEspectadores(progreso);
+        terminar(progreso);
+    }
+
+    /**
+     * Mueve la cámara del grupo (una sola actualización de entidad por tick) y vincula a sus espectadores
+     */
+    private void moverCamara(GrupoEspectadores grupo, Location loc) {
+        CamaraEntidad camara = grupo.getCamara();
+        if (camara == null) {
+            camara = CamaraEntidad.crear(loc, gestor.getDuracionTeleportCamara());
+            grupo.setCamara(camara);
+        } else {
+            camara.mover(loc);
+        }
+
+        for (UUID uuid : grupo.getEspectadores()) {
+            Player jugador = Bukkit.getPlayer(uuid);
+            if (jugador != null && jugador.isOnline()) {
+                camara.vincular(jugador);
+            }
+        }
+    }
+
+    /**
+     * Libera a los jugadores indicados de la sesión: descarta sus poses pendientes y los desvincula de las cámaras
+     * Las cámaras que se quedan sin espectadores se eliminan
+     */
+    public void liberarEspectadores(ProgresoCinematica progreso, Collection<UUID> jugadores) {
+        despachador.descartar(jugadores);
+
+        for (GrupoEspectadores grupo : progreso.getGrupos()) {
+            CamaraEntidad camara = grupo.getCamara();
+            if (camara == null) {
+                continue;
+            }
+
+            camara.liberar(jugadores);
+            if (jugadores.containsAll(grupo.getEspectadores())) {
+                camara.eliminar();
+                grupo.setCamara(null);
+            }
+        }
+    }
+
+    private void procesarFadeFinal(GrupoEspectadores grupo) {
+        long tick = grupo.incrementarTicksEnFase();
+        int fadeIn = plugin.getConfig().getInt("effects.final.fade_in_duration", 20);
+
+        if (tick == 0) {
+            int fadeStay = plugin.getConfig().getInt("effects.final.fade_stay_duration", 60);
+            int fadeOut = plugin.getConfig().getInt("effects.final.fade_out_duration", 40);
+            gestor.aplicarFadeFinal(grupo.getEspectadores(), fadeIn, fadeStay, fadeOut);
+        }
+
+        // TP de finalización durante el stay (10 ticks después del fade in), cuando terminen todos los grupos
+        if (tick >= fadeIn + 10L) {
+            grupo.cambiarFase(FaseReproduccion.FINALIZADA);
+        }
+    }
+
+    /**
+     * Detiene una reproducción sin disparar el evento de fin: quien la detiene restaura a sus espectadores
+     */
+    public void cancelar(ProgresoCinematica progreso) {
+        synchronized (progreso) {
+            cancelarTareaRegion(progreso);
+            liberarEspectadores(progreso, progreso.getEspectadores());
+            gestor.quitarSesion(progreso);
+            progreso.cancelar();
+        }
+    }
+
+    private void cancelarTareaRegion(ProgresoCinematica progreso) {
+        PlanificadorTareas.Tarea tareaRegion = tareasRegion.remove(progreso);
+        if (tareaRegion != null) {
+            tareaRegion.cancelar();
+        }
+    }
+
+    /**
+     * Finaliza una reproducción y notifica a los listeners
+     */
+    private void terminar(ProgresoCinematica progreso) {
+        cancelarTareaRegion(progreso);
+
+        liberarEspectadores(progreso, progreso.getEspectadores());
+
+        if (progreso.isActiva()) {
+            progreso.finalizar();
+        }
+
+        gestor.quitarSesion(progreso);
+        Bukkit.getPluginManager().callEvent(new CinematicaFinEvent(progreso));
+        progreso.cancelar();
+    }
+
+    public DespachadorPoses getDespachador() {
+        return despachador;
+    }
+
+    public GobernadorFps getGobernador() {
+        return gobernador;
+    }
+
+    /**
+     * Modos de mover la cámara de los espectadores
+     */
+    public enum ModoCamara {
+        TELEPORT,  // Teleport de cada jugador en cada actualización
+        ENTITY     // Los jugadores siguen una entidad de display interpolada por el cliente
+    }
+}
@@ -0,0 +1,163 @@
+package net.viciont.cinematics.core;
+
+import java.util.Arrays;
+
+/**
+ * Spline Catmull-Rom centrípeta sobre un tramo de fotogramas clave del mismo mundo
+ * Cada segmento usa las claves vecinas reales (en los extremos, reflejadas) con nudos
+ * separados por la raíz de la distancia, lo que evita bucles y picos en curvas cerradas
+ * Al construirla se calculan los coeficientes cúbicos de cada segmento y una tabla de longitud
+ * de arco, así evaluar a velocidad constante dentro de un segmento es una búsqueda binaria y un polinomio
+ *
+ * @author CrissyjuanxD
+ */
+public class SplineCentripeta {
+
+    // Subdivisiones de cada segmento en la tabla de longitud de arco
+    private static final int MUESTRAS_SEGMENTO = 16;
+
+    // Separación mínima entre nudos, para claves repetidas
+    private static final double EPSILON = 1.0e-4;
+
+    private final int segmentos;
+
+    // Por segmento y eje: a·u³ + b·u² + c·u + d, en bloques de 12 (x, y, z)
+    private final double[] coeficientes;
+
+    // Longitud acumulada en cada subdivisión (segmentos·MUESTRAS_SEGMENTO + 1 entradas)
+    private final double[] longitudes;
+
+    /**
+     * Construye la spline de las claves [desde, hasta] (al menos dos)
+     */
+    public SplineCentripeta(PistasPose claves, int desde, int hasta) {
+        this.segmentos = hasta - desde;
+        this.coeficientes = new double[segmentos * 12];
+
+        for (int s = 0; s < segmentos; s++) {
+            int i1 = desde + s;
+            int i2 = i1 + 1;
+            int i0 = i1 > desde ? i1 - 1 : -1;
+            int i3 = i2 < hasta ? i2 + 1 : -1;
+
+            calcularSegmento(s, claves.x, i0, i1, i2, i3, 0, claves);
+            calcularSegmento(s, claves.y, i0, i1, i2, i3, 4, claves);
+            calcularSegmento(s, claves.z, i0, i1, i2, i3, 8, claves);
+        }
+
+        this.longitudes = new double[segmentos * MUESTRAS_SEGMENTO + 1];
+        double anteriorX = evaluarEje(0, 0, 0.0);
+        double anteriorY = evaluarEje(0, 4, 0.0);
+        double anteriorZ = evaluarEje(0, 8, 0.0);
+        int indice = 1;
+        for (int s = 0; s < segmentos; s++) {
+            for (int m = 1; m <= MUESTRAS_SEGMENTO; m++) {
+                double u = (double) m / MUESTRAS_SEGMENTO;
+                double px = evaluarEje(s, 0, u);
+                double py = evaluarEje(s, 4, u);
+                double pz = evaluarEje(s, 8, u);
+
+                double dx = px - anteriorX;
+                double dy = py - anteriorY;
+                double dz = pz - anteriorZ;
+                longitudes[indice] = longitudes[indice - 1] + Math.sqrt(dx * dx + dy * dy + dz * dz);
+                indice++;
+
+                anteriorX = px;
+                anteriorY = py;
+                anteriorZ = pz;
+            }
+        }
+    }
+
+    /**
+     * Calcula los coeficientes de un eje de un segmento con la forma de Hermite de la Catmull-Rom centrípeta
+     * Un índice -1 es una clave fantasma reflejada respecto al extremo
+     */
+    private void calcularSegmento(int s, double[] eje, int i0, int i1, int i2, int i3, int desplazamiento, PistasPose claves) {
+        double p1 = eje[i1];
+        double p2 = eje[i2];
+        double p0 = i0 >= 0 ? eje[i0] : 2 * p1 - p2;
+        double p3 = i3 >= 0 ? eje[i3] : 2 * p2 - p1;
+
+        // Los nudos dependen de la distancia en 3D, no de cada eje por separado
+        double d01 = i0 >= 0 ? nudo(claves, i0, i1) : nudo(claves, i1, i2);
+        double d12 = nudo(claves, i1, i2);
+        double d23 = i3 >= 0 ? nudo(claves, i2, i3) : d12;
+
+        double m1 = d12 * ((p1 - p0) / d01 - (p2 - p0) / (d01 + d12) + (p2 - p1) / d12);
+        double m2 = d12 * ((p2 - p1) / d12 - (p3 - p1) / (d12 + d23) + (p3 - p2) / d23);
+
+        int base = s * 12 + desplazamiento;
+        coeficientes[base] = 2 * p1 - 2 * p2 + m1 + m2;
+        coeficientes[base + 1] = -3 * p1 + 3 * p2 - 2 * m1 - m2;
+        coeficientes[base + 2] = m1;
+        coeficientes[base + 3] = p1;
+    }
+
+    /**
+     * Separación centrípeta entre dos claves: raíz de su distancia
+     */
+    private static double nudo(PistasPose claves, int a, int b) {
+        double dx = claves.x[b] - claves.x[a];
+        double dy = claves.y[b] - claves.y[a];
+        double dz = claves.z[b] - claves.z[a];
+        return Math.max(EPSILON, Math.sqrt(Math.sqrt(dx * dx + dy * dy + dz * dz)));
+    }
+
+    private double evaluarEje(int s, int desplazamiento, double u) {
+        int base = s * 12 + desplazamiento;
+        return ((coeficientes[base] * u + coeficientes[base + 1]) * u + coeficientes[base + 2]) * u + coeficientes[base + 3];
+    }
+
+    /**
+     * Escribe en la salida la posición del segmento s a una fracción t de su longitud (0-1)
+     * Cada segmento recorre su tabla a velocidad constante y acaba justo en su clave, así
+     * cada clave conserva su instante; la rotación y el mundo de la muestra no se tocan
+     */
+    public void evaluarSegmento(int s, double t, PistasPose salida, int k) {
+        s = Math.max(0, Math.min(segmentos - 1, s));
+        t = Math.max(0.0, Math.min(1.0, t));
+
+        int primero = s * MUESTRAS_SEGMENTO;
+        int ultimo = primero + MUESTRAS_SEGMENTO;
+        double inicio = longitudes[primero];
+        double longitud = longitudes[ultimo] - inicio;
+        if (longitud <= EPSILON) {
+            // Segmento sin desplazamiento: se usa el parámetro tal cual
+            escribir(s, t, salida, k);
+            return;
+        }
+
+        double distancia = inicio + t * longitud;
+        int indice = Arrays.binarySearch(longitudes, primero, ultimo + 1, distancia);
+        if (indice < 0) {
+            indice = -indice - 2;
+        }
+        indice = Math.max(primero, Math.min(ultimo - 1, indice));
+
+        double desde = longitudes[indice];
+        double tramo = longitudes[indice + 1] - desde;
+        double parcial = tramo > 0 ? (distancia - desde) / tramo : 0.0;
+
+        escribir(s, (indice - primero + parcial) / MUESTRAS_SEGMENTO, salida, k);
+    }
+
+    private void escribir(int s, double u, PistasPose salida, int k) {
+        salida.x[k] = evaluarEje(s, 0, u);
+        salida.y[k] = evaluarEje(s, 4, u);
+        salida.z[k] = evaluarEje(s, 8, u);
+    }
+
+    public long estimarBytes() {
+        return (long) (coeficientes.length + longitudes.length) * 8;
+    }
+
+    public double getLongitud() {
+        return longitudes[longitudes.length - 1];
+    }
+
+    public int getSegmentos() {
+        return segmentos;
+    }
+}
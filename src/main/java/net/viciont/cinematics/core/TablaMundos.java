@@ -0,0 +1,87 @@
+package net.viciont.cinematics.core;
+
+import org.bukkit.Bukkit;
+import org.bukkit.World;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Tabla de mundos indexada por enteros
+ * Las líneas de tiempo guardan el índice del mundo de cada frame; el nombre solo se busca al compilar.
+ * La tabla se mantiene al día con los eventos de carga y descarga de mundos, así un mundo
+ * descargado se ve como null en lugar de quedar una referencia obsoleta
+ *
+ * @author CrissyjuanxD
+ */
+public class TablaMundos {
+
+    private final Map<String, Integer> indices = new HashMap<>();
+
+    // Copia en escritura: los cambios son raros y la lectura no necesita bloqueo
+    private volatile String[] nombres = new String[0];
+    private volatile World[] mundos = new World[0];
+
+    /**
+     * Obtiene el índice de un mundo por nombre, registrándolo si es la primera vez
+     */
+    public synchronized int indice(String nombre) {
+        Integer indice = indices.get(nombre);
+        if (indice != null) {
+            return indice;
+        }
+
+        int nuevo = nombres.length;
+        String[] nuevosNombres = Arrays.copyOf(nombres, nuevo + 1);
+        World[] nuevosMundos = Arrays.copyOf(mundos, nuevo + 1);
+        nuevosNombres[nuevo] = nombre;
+        nuevosMundos[nuevo] = Bukkit.getWorld(nombre);
+
+        indices.put(nombre, nuevo);
+        nombres = nuevosNombres;
+        mundos = nuevosMundos;
+        return nuevo;
+    }
+
+    /**
+     * Obtiene el mundo de un índice, o null si no está cargado
+     */
+    public World obtener(int indice) {
+        World[] actual = mundos;
+        return indice >= 0 && indice < actual.length ? actual[indice] : null;
+    }
+
+    /**
+     * Obtiene el nombre de un índice
+     */
+    public String obtenerNombre(int indice) {
+        String[] actual = nombres;
+        return indice >= 0 && indice < actual.length ? actual[indice] : null;
+    }
+
+    /**
+     * Actualiza la entrada de un mundo recién cargado
+     */
+    public void alCargarMundo(World mundo) {
+        actualizar(mundo.getName(), mundo);
+    }
+
+    /**
+     * Vacía la entrada de un mundo descargado
+     */
+    public void alDescargarMundo(World mundo) {
+        actualizar(mundo.getName(), null);
+    }
+
+    private synchronized void actualizar(String nombre, World mundo) {
+        Integer indice = indices.get(nombre);
+        if (indice == null) {
+            return;
+        }
+
+        World[] nuevosMundos = mundos.clone();
+        nuevosMundos[indice] = mundo;
+        mundos = nuevosMundos;
+    }
+}
@@ -3,7 +3,6 @@ package net.viciont.cinematics.listeners;
 import net.viciont.cinematics.ViciontCinematics;
 import net.viciont.cinematics.events.CinematicaFinEvent;
 import net.viciont.cinematics.events.CinematicaInicioEvent;
-import net.viciont.cinematics.events.CinematicaTickEvent;
 import net.viciont.cinematics.objects.InfoJugador;
 import net.viciont.cinematics.objects.ProgresoCinematica;
 import net.viciont.cinematics.objects.Cinematica;
@@ -18,6 +17,8 @@ import org.bukkit.event.Listener;
 import org.bukkit.event.player.AsyncPlayerChatEvent;
 import org.bukkit.event.player.PlayerMoveEvent;
 import org.bukkit.event.player.PlayerQuitEvent;
+import org.bukkit.event.world.WorldLoadEvent;
+import org.bukkit.event.world.WorldUnloadEvent;
 import org.bukkit.potion.PotionEffect;
 import org.bukkit.potion.PotionEffectType;
 
@@ -37,31 +38,34 @@ public class ListenerGlobal implements Listener {
         this.plugin = plugin;
     }
 
+    /*
+     * Los eventos de reproducción se disparan desde el hilo de la sesión (en Folia, su región),
+     * así que todo lo que toca a un jugador se hace desde su propio hilo con el planificador
+     */
+
     @EventHandler
     public void alIniciarCinematica(CinematicaInicioEvent evento) {
         var gestor = plugin.getGestorCinematicas();
+        var planificador = plugin.getPlanificador();
         var progreso = evento.getProgresoCinematica();
-        var espectadores = progreso.getEspectadores();
-
-        // Guardar información de jugadores ANTES de cualquier cambio
-        if (gestor.isRestaurarModoJuego() || gestor.isRestaurarUbicacion()) {
-            for (UUID uuid : espectadores) {
-                Player jugador = Bukkit.getPlayer(uuid);
-                if (jugador != null) {
-                    progreso.getInformacionJugadores().put(uuid, new InfoJugador(jugador));
-                }
-            }
-        }
+        var espectadores = List.copyOf(progreso.getEspectadores());
+        boolean guardarInformacion = gestor.isRestaurarModoJuego() || gestor.isRestaurarUbicacion();
 
         // NO ocultar jugadores - permitir visibilidad durante cinemáticas
         // En su lugar, mantener visibles usando packets
         GestorPackets gestorPackets = plugin.getGestorPackets();
 
-        // Cambiar a modo espectador pero mantener visibilidad
+        // Guardar información de jugadores ANTES de cualquier cambio (sin pisar la guardada al reproducir)
+        // y cambiar a modo espectador pero mantener visibilidad
         for (UUID uuid : espectadores) {
             Player jugador = Bukkit.getPlayer(uuid);
             if (jugador != null) {
-                jugador.setGameMode(GameMode.SPECTATOR);
+                planificador.ejecutarEnEntidad(jugador, () -> {
+                    if (guardarInformacion) {
+                        progreso.getInformacionJugadores().putIfAbsent(uuid, new InfoJugador(jugador));
+                    }
+                    jugador.setGameMode(GameMode.SPECTATOR);
+                });
             }
         }
 
@@ -69,19 +73,16 @@ public class ListenerGlobal implements Listener {
         if (gestorPackets.isDisponible()) {
             gestorPackets.mantenerVisiblesTodos(espectadores);
 
-            // Ejecutar periódicamente para asegurar visibilidad
-            Bukkit.getScheduler().runTaskTimer(plugin, () -> {
-                if (progreso.isActiva()) {
-                    gestorPackets.mantenerVisiblesTodos(espectadores);
-                }
-            }, 20L, 20L);
+            // Ejecutar periódicamente para asegurar visibilidad (se cancela al terminar la reproducción)
+            progreso.registrarTarea(planificador.repetirGlobal(() ->
+                    gestorPackets.mantenerVisiblesTodos(progreso.getEspectadores()), 20L, 20L));
         } else {
             // Sistema básico - mostrar a todos
-            Bukkit.getScheduler().runTask(plugin, () -> {
-                for (UUID uuid1 : espectadores) {
-                    Player j1 = Bukkit.getPlayer(uuid1);
-                    if (j1 == null || !j1.isOnline()) continue;
+            for (UUID uuid1 : espectadores) {
+                Player j1 = Bukkit.getPlayer(uuid1);
+                if (j1 == null || !j1.isOnline()) continue;
 
+                planificador.ejecutarEnEntidad(j1, () -> {
                     for (UUID uuid2 : espectadores) {
                         if (uuid1.equals(uuid2)) continue;
                         Player j2 = Bukkit.getPlayer(uuid2);
@@ -89,8 +90,8 @@ public class ListenerGlobal implements Listener {
 
                         j1.showPlayer(plugin, j2);
                     }
-                }
-            });
+                });
+            }
         }
 
         plugin.getLogger().info("Cinemática iniciada con " + espectadores.size() + " espectadores");
@@ -99,72 +100,48 @@ public class ListenerGlobal implements Listener {
     @EventHandler
     public void alFinalizarCinematica(CinematicaFinEvent evento) {
         var gestor = plugin.getGestorCinematicas();
+        var planificador = plugin.getPlanificador();
         var progreso = evento.getProgresoCinematica();
-        var espectadores = progreso.getEspectadores();
+        var espectadores = List.copyOf(progreso.getEspectadores());
         var informacionJugadores = progreso.getInformacionJugadores();
 
-        // Restaurar modo de juego
-        if (gestor.isRestaurarModoJuego()) {
-            for (UUID uuid : espectadores) {
-                Player jugador = Bukkit.getPlayer(uuid);
-                if (jugador != null) {
-                    InfoJugador info = informacionJugadores.get(uuid);
-                    if (info != null) {
-                        jugador.setGameMode(info.getModoJuegoOriginal());
-                    }
-                }
+        // Restaurar modo de juego y ubicación, con ceguera temporal para suavizar la transición
+        for (UUID uuid : espectadores) {
+            Player jugador = Bukkit.getPlayer(uuid);
+            if (jugador == null) {
+                continue;
             }
-        }
 
-        // Restaurar ubicación
-        if (gestor.isRestaurarUbicacion()) {
-            for (UUID uuid : espectadores) {
-                Player jugador = Bukkit.getPlayer(uuid);
-                if (jugador != null) {
-                    InfoJugador info = informacionJugadores.get(uuid);
-                    if (info != null) {
-                        jugador.teleport(info.getUbicacionOriginal());
-                    }
+            InfoJugador info = informacionJugadores.get(uuid);
+            planificador.ejecutarEnEntidad(jugador, () -> {
+                if (info != null && gestor.isRestaurarModoJuego()) {
+                    jugador.setGameMode(info.getModoJuegoOriginal());
                 }
-            }
-        }
-
-        // Aplicar efecto de ceguera temporal para suavizar la transición
-        if (gestor.isRestaurarModoJuego() || gestor.isRestaurarUbicacion()) {
-            for (UUID uuid : espectadores) {
-                Player jugador = Bukkit.getPlayer(uuid);
-                if (jugador != null) {
+                if (info != null && gestor.isRestaurarUbicacion()) {
+                    // El mundo original puede haberse descargado (p. ej. si la sesión se interrumpió por eso)
+                    planificador.teletransportar(jugador, gestor.obtenerUbicacionSegura(info.getUbicacionOriginal()));
+                }
+                if (gestor.isRestaurarModoJuego() || gestor.isRestaurarUbicacion()) {
                     jugador.addPotionEffect(new PotionEffect(PotionEffectType.BLINDNESS, 20, 1, false, false, false));
                 }
-            }
+            });
         }
 
-        // Restaurar visibilidad normal
-        Bukkit.getScheduler().runTask(plugin, () -> {
-            for (UUID uuid1 : espectadores) {
-                Player j1 = Bukkit.getPlayer(uuid1);
-                if (j1 == null || !j1.isOnline()) continue;
-
+        // Restaurar visibilidad normal: cada jugador conectado actualiza lo que ve desde su hilo
+        for (Player j1 : Bukkit.getOnlinePlayers()) {
+            boolean esEspectador = espectadores.contains(j1.getUniqueId());
+            planificador.ejecutarEnEntidad(j1, () -> {
                 for (Player j2 : Bukkit.getOnlinePlayers()) {
-                    if (!j1.equals(j2)) {
+                    if (!j1.equals(j2) && (esEspectador || espectadores.contains(j2.getUniqueId()))) {
                         j1.showPlayer(plugin, j2);
-                        j2.showPlayer(plugin, j1);
                     }
                 }
-            }
-        });
+            });
+        }
 
         plugin.getLogger().info("Cinemática finalizada");
     }
 
-    @EventHandler
-    public void alTickCinematica(CinematicaTickEvent evento) {
-        // Verificar eventos programados
-        Bukkit.getScheduler().runTask(plugin, () -> {
-            evento.getProgresoCinematica().verificarEventos();
-        });
-    }
-
     @EventHandler
     public void alMoverseJugador(PlayerMoveEvent evento) {
         var gestor = plugin.getGestorCinematicas();
@@ -227,4 +204,15 @@ public class ListenerGlobal implements Listener {
         }
     }
 
+    @EventHandler
+    public void alCargarMundo(WorldLoadEvent evento) {
+        plugin.getGestorCinematicas().getTablaMundos().alCargarMundo(evento.getWorld());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void alDescargarMundo(WorldUnloadEvent evento) {
+        // Las reproducciones que pasen por el mundo se interrumpen en su siguiente frame
+        plugin.getGestorCinematicas().getTablaMundos().alDescargarMundo(evento.getWorld());
+    }
+
 }
\ No newline at end of file
@@ -4,6 +4,7 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import net.viciont.cinematics.core.CompactadorFrames;
 import org.bukkit.Sound;
 
 /**
@@ -20,6 +21,15 @@ public class Cinematica {
     private TipoCinematica tipo;
     private List<ParteCinematica> partes;
 
+    // Easing propio (nombre o "cubic-bezier(x1, y1, x2, y2)"); null usa el del tipo de interpolación
+    private String easing;
+
+    // Veces que se ha reproducido; decide qué cinemáticas se precalientan al cargar
+    private int reproducciones;
+
+    // Versión del contenido en memoria (no se guarda en JSON); invalida las líneas de tiempo compiladas
+    private transient int version;
+
     public Cinematica(String nombre) {
         this.nombre = nombre;
         this.frames = new ArrayList<>();
@@ -57,6 +67,7 @@ public class Cinematica {
      * Obtiene una lista de frames suavizados (reduce la cantidad a la mitad)
      */
     public List<Frame> getFramesSuavizados() {
+        List<Frame> frames = getFramesPorTick();
         List<Frame> framesSuavizados = new ArrayList<>();
 
         for (int i = 0; i < frames.size(); i += 2) {
@@ -74,6 +85,7 @@ public class Cinematica {
      * Obtiene una lista de frames prolongados (añade frames intermedios)
      */
     public List<Frame> getFramesProlongados() {
+        List<Frame> frames = getFramesPorTick();
         List<Frame> framesProlongados = new ArrayList<>();
 
         for (int i = 0; i < frames.size(); i++) {
@@ -91,11 +103,33 @@ public class Cinematica {
         return framesProlongados;
     }
 
+    /**
+     * Obtiene un frame por tick, reconstruyendo los descartados si la cinemática está compactada
+     */
+    public List<Frame> getFramesPorTick() {
+        return CompactadorFrames.expandir(frames);
+    }
+
+    /**
+     * Verifica si los frames guardados están compactados (cada uno con su tick)
+     */
+    public boolean isCompactada() {
+        return !frames.isEmpty() && frames.get(0).getTick() != null;
+    }
+
+    /**
+     * Marca la cinemática como modificada para invalidar datos compilados a partir de ella
+     */
+    public void marcarModificada() {
+        version++;
+    }
+
     /**
      * Añade un evento programado en un tick específico
      */
     public void agregarEvento(int tick, String comando) {
         eventosProgramados.computeIfAbsent(tick, k -> new ArrayList<>()).add(comando);
+        marcarModificada();
     }
 
     /**
@@ -108,6 +142,7 @@ public class Cinematica {
             if (eventos.isEmpty()) {
                 eventosProgramados.remove(tick);
             }
+            marcarModificada();
         }
     }
 
@@ -116,20 +151,21 @@ public class Cinematica {
      */
     public void removerEventosTick(int tick) {
         eventosProgramados.remove(tick);
+        marcarModificada();
     }
 
     /**
      * Obtiene la duración en ticks de la cinemática
      */
     public int getDuracionTicks() {
-        return frames.size();
+        return isCompactada() ? frames.get(frames.size() - 1).getTick() + 1 : frames.size();
     }
 
     /**
      * Obtiene la duración en segundos de la cinemática
      */
     public double getDuracionSegundos() {
-        return frames.size() / 20.0;
+        return getDuracionTicks() / 20.0;
     }
 
     /**
@@ -137,6 +173,7 @@ public class Cinematica {
      */
     public void agregarSonido(int tick, Sound sonido, float volumen, float pitch) {
         sonidos.put(tick, new SonidoCinematica(sonido, volumen, pitch));
+        marcarModificada();
     }
 
     /**
@@ -144,6 +181,7 @@ public class Cinematica {
      */
     public void agregarSonidoCustom(int tick, String nombreSonido, float volumen, float pitch) {
         sonidos.put(tick, new SonidoCinematica(nombreSonido, volumen, pitch));
+        marcarModificada();
     }
 
     /**
@@ -151,6 +189,7 @@ public class Cinematica {
      */
     public void agregarSonidoPreset(int tick, String presetName, float volumen, float pitch) {
         sonidos.put(tick, new SonidoCinematica(presetName, volumen, pitch, true));
+        marcarModificada();
     }
 
     /**
@@ -158,9 +197,25 @@ public class Cinematica {
      */
     public void agregarParte(ParteCinematica parte) {
         partes.add(parte);
+        marcarModificada();
+    }
+
+    /**
+     * Cuenta una reproducción de la cinemática
+     */
+    public void registrarReproduccion() {
+        reproducciones++;
     }
 
     // Getters y Setters
+    public int getReproducciones() {
+        return reproducciones;
+    }
+
+    public int getVersion() {
+        return version;
+    }
+
     public String getNombre() {
         return nombre;
     }
@@ -175,6 +230,7 @@ public class Cinematica {
 
     public void setFrames(List<Frame> frames) {
         this.frames = frames;
+        marcarModificada();
     }
 
     public Map<Integer, List<String>> getEventosProgramados() {
@@ -183,6 +239,7 @@ public class Cinematica {
 
     public void setEventosProgramados(Map<Integer, List<String>> eventosProgramados) {
         this.eventosProgramados = eventosProgramados;
+        marcarModificada();
     }
 
     public Map<Integer, SonidoCinematica> getSonidos() {
@@ -191,6 +248,7 @@ public class Cinematica {
 
     public void setSonidos(Map<Integer, SonidoCinematica> sonidos) {
         this.sonidos = sonidos != null ? sonidos : new HashMap<>();
+        marcarModificada();
     }
 
     public TipoCinematica getTipo() {
@@ -201,12 +259,22 @@ public class Cinematica {
         this.tipo = tipo;
     }
 
+    public String getEasing() {
+        return easing;
+    }
+
+    public void setEasing(String easing) {
+        this.easing = easing;
+        marcarModificada();
+    }
+
     public List<ParteCinematica> getPartes() {
         return partes;
     }
 
     public void setPartes(List<ParteCinematica> partes) {
         this.partes = partes;
+        marcarModificada();
     }
 
     /**
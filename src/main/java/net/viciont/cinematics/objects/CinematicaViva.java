@@ -1,8 +1,10 @@
 package net.viciont.cinematics.objects;
 
 import net.viciont.cinematics.ViciontCinematics;
+import net.viciont.cinematics.core.PlanificadorTareas;
 import org.bukkit.Bukkit;
 import org.bukkit.GameMode;
+import org.bukkit.Location;
 import org.bukkit.entity.Player;
 
 import java.util.*;
@@ -16,6 +18,7 @@ import java.util.concurrent.ConcurrentHashMap;
 public class CinematicaViva {
 
     private final ViciontCinematics plugin;
+    private final PlanificadorTareas planificador;
     private final UUID uuidAnfitrion;
     private final long tiempoInicio;
 
@@ -26,6 +29,7 @@ public class CinematicaViva {
 
     public CinematicaViva(Player anfitrion, ViciontCinematics plugin) {
         this.plugin = plugin;
+        this.planificador = plugin.getPlanificador();
         this.uuidAnfitrion = anfitrion.getUniqueId();
         this.tiempoInicio = System.currentTimeMillis();
 
@@ -41,7 +45,7 @@ public class CinematicaViva {
         informacionOriginal.put(anfitrion.getUniqueId(), new InfoJugador(anfitrion));
 
         // Cambiar a modo espectador para mejor control
-        anfitrion.setGameMode(GameMode.SPECTATOR);
+        planificador.ejecutarEnEntidad(anfitrion, () -> anfitrion.setGameMode(GameMode.SPECTATOR));
 
         plugin.enviarMensaje(anfitrion, "<purple>Ahora estás en modo cinemática en vivo");
         plugin.enviarMensaje(anfitrion, "<gray>Muévete y otros jugadores te seguirán automáticamente");
@@ -84,20 +88,36 @@ public class CinematicaViva {
      */
     private void configurarEspectador(Player espectador) {
         // Cambiar a modo espectador
-        espectador.setGameMode(GameMode.SPECTATOR);
+        planificador.ejecutarEnEntidad(espectador, () -> espectador.setGameMode(GameMode.SPECTATOR));
 
         // Aplicar efecto de transición (implementar método en GestorCinematicas)
         // plugin.getGestorCinematicas().aplicarPantallaNegra(List.of(espectador.getUniqueId()));
 
         // Programar la sincronización después del fade
-        Bukkit.getScheduler().runTaskLater(plugin, () -> {
+        planificador.ejecutarEnEntidadDespues(espectador, () -> {
             Player anfitrion = obtenerAnfitrion();
             if (anfitrion != null && espectador.isOnline()) {
-                espectador.teleport(anfitrion.getLocation());
+                moverAlAnfitrion(anfitrion, List.of(espectador));
             }
         }, 110L); // 5.5 segundos
     }
 
+    /**
+     * Lee la ubicación del anfitrión en su hilo y teletransporta a los jugadores desde los suyos
+     */
+    private void moverAlAnfitrion(Player anfitrion, Collection<Player> jugadores) {
+        planificador.ejecutarEnEntidad(anfitrion, () -> {
+            Location destino = anfitrion.getLocation();
+            for (Player jugador : jugadores) {
+                try {
+                    planificador.teletransportar(jugador, destino.clone());
+                } catch (Exception e) {
+                    plugin.getLogger().warning("Error al sincronizar espectador " + jugador.getName() + ": " + e.getMessage());
+                }
+            }
+        });
+    }
+
     /**
      * Remueve un espectador de la cinemática
      */
@@ -112,7 +132,7 @@ public class CinematicaViva {
         // plugin.getGestorCinematicas().aplicarPantallaNegra(List.of(uuidJugador));
 
         // Restaurar información original después del fade
-        Bukkit.getScheduler().runTaskLater(plugin, () -> {
+        planificador.ejecutarEnEntidadDespues(jugador, () -> {
             if (jugador.isOnline()) {
                 InfoJugador info = informacionOriginal.remove(uuidJugador);
                 if (info != null) {
@@ -138,6 +158,7 @@ public class CinematicaViva {
         }
 
         // Sincronizar posición de cada espectador
+        List<Player> conectados = new ArrayList<>(espectadores.size());
         espectadores.removeIf(uuidEspectador -> {
             Player espectador = Bukkit.getPlayer(uuidEspectador);
 
@@ -147,15 +168,14 @@ public class CinematicaViva {
                 return true;
             }
 
-            // Teleportar al espectador a la posición del anfitrión
-            try {
-                espectador.teleport(anfitrion.getLocation());
-            } catch (Exception e) {
-                plugin.getLogger().warning("Error al sincronizar espectador " + espectador.getName() + ": " + e.getMessage());
-            }
-
+            conectados.add(espectador);
             return false;
         });
+
+        // Teleportar a los espectadores a la posición del anfitrión
+        if (!conectados.isEmpty()) {
+            moverAlAnfitrion(anfitrion, conectados);
+        }
     }
 
     /**
@@ -172,7 +192,7 @@ public class CinematicaViva {
             InfoJugador infoAnfitrion = informacionOriginal.get(uuidAnfitrion);
             if (infoAnfitrion != null) {
                 // plugin.getGestorCinematicas().aplicarPantallaNegra(List.of(uuidAnfitrion));
-                Bukkit.getScheduler().runTaskLater(plugin, () -> {
+                planificador.ejecutarEnEntidadDespues(anfitrion, () -> {
                     if (anfitrion.isOnline()) {
                         infoAnfitrion.restaurarJugador(anfitrion);
                     }
@@ -15,6 +15,9 @@ public class Frame {
     private float yaw;
     private float pitch;
 
+    // Tick de grabación en cinemáticas compactadas; null si el frame ocupa el tick de su posición
+    private Integer tick;
+
     public Frame(String mundo, double x, double y, double z, float yaw, float pitch) {
         this.mundo = mundo;
         this.x = x;
@@ -28,7 +31,9 @@ public class Frame {
      * Crea una copia de este frame
      */
     public Frame clonar() {
-        return new Frame(mundo, x, y, z, yaw, pitch);
+        Frame copia = new Frame(mundo, x, y, z, yaw, pitch);
+        copia.tick = tick;
+        return copia;
     }
 
     /**
@@ -136,4 +141,12 @@ public class Frame {
     public void setPitch(float pitch) {
         this.pitch = pitch;
     }
+
+    public Integer getTick() {
+        return tick;
+    }
+
+    public void setTick(Integer tick) {
+        this.tick = tick;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,163 @@
+package net.viciont.cinematics.objects;
+
+import net.viciont.cinematics.core.CamaraEntidad;
+import net.viciont.cinematics.core.CursorFrames;
+import net.viciont.cinematics.core.LineaTiempo;
+import net.viciont.cinematics.objects.ProgresoCinematica.FaseReproduccion;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Grupo de espectadores que avanzan sincronizados dentro de una misma reproducción
+ * Cada grupo tiene su propio cursor; los jugadores que se unen tarde forman un grupo
+ * nuevo con su propio desfase respecto al inicio de la sesión
+ *
+ * @author CrissyjuanxD
+ */
+public class GrupoEspectadores {
+
+    private final long desfase;
+    // Se recorre desde el hilo de la reproducción y se modifica desde comandos y la admisión
+    private final List<UUID> espectadores = new CopyOnWriteArrayList<>();
+
+    private FaseReproduccion fase = FaseReproduccion.FADE_INICIAL;
+    private long ticksEnFase = 0;
+    private int cinematicaActual = 0;
+    private int frameActual = -1;
+    private int framesCompletados = 0;
+
+    // Instante (System.nanoTime) en que vence el frame 0 de la cinemática actual
+    private long inicioNanos = 0;
+
+    // Cámara compartida del grupo (solo en modo de cámara por entidad)
+    private CamaraEntidad camara;
+
+    // Cursor sobre la línea de tiempo de la cinemática actual
+    private CursorFrames cursor;
+
+    public GrupoEspectadores(long desfase) {
+        this.desfase = desfase;
+    }
+
+    /**
+     * Cambia de fase y reinicia el contador de ticks de la fase
+     */
+    public void cambiarFase(FaseReproduccion nuevaFase) {
+        this.fase = nuevaFase;
+        this.ticksEnFase = 0;
+    }
+
+    /**
+     * Fija el instante en que vence el frame 0 de la cinemática actual
+     */
+    public void iniciarReloj(long inicioNanos) {
+        this.inicioNanos = inicioNanos;
+    }
+
+    /**
+     * Coloca el cursor en un frame arbitrario de la secuencia (búsqueda)
+     * El frame indicado será el próximo en enviarse
+     *
+     * @param framesPrevios frames de las cinemáticas anteriores de la secuencia
+     * @param inicioNanos instante en que vence el frame 0 de la cinemática indicada
+     */
+    public void posicionar(int cinematica, int frame, int framesPrevios, long inicioNanos) {
+        this.fase = FaseReproduccion.REPRODUCIENDO;
+        this.ticksEnFase = 0;
+        this.cinematicaActual = cinematica;
+        this.frameActual = frame - 1;
+        this.framesCompletados = framesPrevios + frame;
+        this.inicioNanos = inicioNanos;
+    }
+
+    /**
+     * Pasa a la siguiente cinemática de la secuencia
+     *
+     * @return false si ya no quedan cinemáticas por reproducir
+     */
+    public boolean avanzarCinematica(int totalCinematicas) {
+        if (cinematicaActual + 1 >= totalCinematicas) {
+            return false;
+        }
+
+        cinematicaActual++;
+        frameActual = -1;
+        ticksEnFase = 0;
+        return true;
+    }
+
+    /**
+     * Mueve el cursor al frame indicado de la cinemática actual
+     */
+    public void moverCursor(int frame) {
+        framesCompletados += frame - frameActual;
+        this.frameActual = frame;
+    }
+
+    /**
+     * Incrementa el contador de ticks de la fase actual
+     */
+    public long incrementarTicksEnFase() {
+        return ticksEnFase++;
+    }
+
+    /**
+     * Verifica si el grupo ya terminó su recorrido
+     */
+    public boolean haTerminado() {
+        return fase == FaseReproduccion.FINALIZADA;
+    }
+
+    // Getters
+    public long getDesfase() {
+        return desfase;
+    }
+
+    public List<UUID> getEspectadores() {
+        return espectadores;
+    }
+
+    public FaseReproduccion getFase() {
+        return fase;
+    }
+
+    public long getTicksEnFase() {
+        return ticksEnFase;
+    }
+
+    public int getCinematicaActual() {
+        return cinematicaActual;
+    }
+
+    public int getFrameActual() {
+        return frameActual;
+    }
+
+    public int getFramesCompletados() {
+        return framesCompletados;
+    }
+
+    public long getInicioNanos() {
+        return inicioNanos;
+    }
+
+    /**
+     * Obtiene el cursor del grupo sobre una línea de tiempo, abriéndolo al cambiar de cinemática
+     */
+    public CursorFrames obtenerCursor(LineaTiempo linea) {
+        if (cursor == null || cursor.getLinea() != linea) {
+            cursor = linea.abrirCursor();
+        }
+        return cursor;
+    }
+
+    public CamaraEntidad getCamara() {
+        return camara;
+    }
+
+    public void setCamara(CamaraEntidad camara) {
+        this.camara = camara;
+    }
+}
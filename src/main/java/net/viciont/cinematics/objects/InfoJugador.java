@@ -1,5 +1,6 @@
 package net.viciont.cinematics.objects;
 
+import net.viciont.cinematics.ViciontCinematics;
 import org.bukkit.GameMode;
 import org.bukkit.Location;
 import org.bukkit.entity.Player;
@@ -34,6 +35,7 @@ public class InfoJugador {
     
     /**
      * Restaura el estado original del jugador
+     * Debe llamarse desde el hilo dueño del jugador (ver PlanificadorTareas.ejecutarEnEntidad)
      */
     public void restaurarJugador(Player jugador) {
         if (!jugador.getUniqueId().equals(this.uuid)) {
@@ -44,8 +46,10 @@ public class InfoJugador {
             // Restaurar modo de juego
             jugador.setGameMode(modoJuegoOriginal);
             
-            // Restaurar ubicación
-            jugador.teleport(ubicacionOriginal);
+            // Restaurar ubicación (en Folia el teleport es asíncrono; si su mundo se descargó, al spawn)
+            ViciontCinematics plugin = ViciontCinematics.getInstancia();
+            plugin.getPlanificador().teletransportar(jugador,
+                    plugin.getGestorCinematicas().obtenerUbicacionSegura(ubicacionOriginal.clone()));
             
             // Restaurar estado de vuelo
             if (modoJuegoOriginal == GameMode.CREATIVE || modoJuegoOriginal == GameMode.SPECTATOR) {
@@ -1,16 +1,25 @@
 package net.viciont.cinematics.objects;
 
 import net.viciont.cinematics.ViciontCinematics;
-import net.viciont.cinematics.utils.CadenaTareas;
+import net.viciont.cinematics.core.LineaTiempo;
+import net.viciont.cinematics.core.PlanificadorTareas;
 import org.bukkit.Bukkit;
 
-import java.util.HashMap;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
  * Representa el progreso de una cinemática en reproducción
+ * Una reproducción es una sesión de difusión: evalúa cada frame una sola vez y lo envía
+ * a todos sus espectadores, agrupados según el tick en el que se unieron
+ * En Folia avanza en el hilo de su región mientras los comandos y la admisión la modifican desde
+ * otros: las listas se pueden recorrer desde cualquier hilo y los cambios se hacen con el monitor
+ * de la sesión, el mismo que toma el reproductor para avanzarla
  *
  * @author CrissyjuanxD
  */
@@ -18,20 +27,39 @@ public class ProgresoCinematica {
 
     private final ViciontCinematics plugin;
     private final List<Cinematica> secuencia;
-    private final List<UUID> espectadores;
-    private final CadenaTareas cadenaTareas;
+    private final List<UUID> espectadores = new CopyOnWriteArrayList<>();
+    private final List<GrupoEspectadores> grupos = new CopyOnWriteArrayList<>();
+    private volatile List<LineaTiempo> lineasTiempo;
+    private final int framesTotales;
 
-    private final Map<UUID, InfoJugador> informacionJugadores = new HashMap<>();
+    // Se escribe desde el hilo de cada jugador al iniciar la reproducción
+    private final Map<UUID, InfoJugador> informacionJugadores = new ConcurrentHashMap<>();
 
-    private boolean activa = true;
-    private int cinematicaActual = 0;
+    // Tareas que pertenecen a esta reproducción y se cancelan con ella
+    private final List<PlanificadorTareas.Tarea> tareas = new ArrayList<>();
+
+    private volatile boolean activa = true;
+    private volatile boolean iniciada = false;
+    private volatile boolean pausada = false;
+    private long inicioPausaNanos = 0;
+    private volatile long ticksSesion = 0;
+
+    // Estadísticas del reloj: retraso de cada frame enviado respecto a su vencimiento
+    private long framesEnviados = 0;
+    private long framesSaltados = 0;
+    // Frames vencidos a tiempo que no se enviaron por el paso del gobernador de FPS
+    private long framesOmitidosPaso = 0;
+    private long retrasoTotalNanos = 0;
+    private long retrasoMaximoNanos = 0;
 
     public ProgresoCinematica(List<Cinematica> secuencia, List<UUID> espectadores,
-                              CadenaTareas cadenaTareas, ViciontCinematics plugin) {
+                              List<LineaTiempo> lineasTiempo, ViciontCinematics plugin) {
         this.plugin = plugin;
         this.secuencia = secuencia;
-        this.espectadores = espectadores;
-        this.cadenaTareas = cadenaTareas;
+        this.lineasTiempo = lineasTiempo;
+        this.framesTotales = lineasTiempo.stream().mapToInt(LineaTiempo::getTotalFrames).sum();
+
+        agregarEspectadores(espectadores);
     }
 
     /**
@@ -42,26 +70,65 @@ public class ProgresoCinematica {
     }
 
     /**
-     * Verifica los eventos programados en el tick actual
+     * Une espectadores a la sesión con el desfase del tick actual
+     * Los que se unen en el mismo tick comparten grupo y cursor
      */
-    public void verificarEventos() {
-        if (!activa || secuencia.isEmpty()) return;
+    public synchronized void agregarEspectadores(Collection<UUID> nuevos) {
+        GrupoEspectadores grupo = grupos.isEmpty() ? null : grupos.get(grupos.size() - 1);
+        if (grupo == null || grupo.getDesfase() != ticksSesion) {
+            grupo = new GrupoEspectadores(ticksSesion);
+            grupos.add(grupo);
+        }
 
-        try {
-            int tickActual = cadenaTareas.getCurrentTask();
-            Cinematica cinematicaActual = secuencia.get(this.cinematicaActual);
+        for (UUID uuid : nuevos) {
+            if (!espectadores.contains(uuid)) {
+                espectadores.add(uuid);
+                grupo.getEspectadores().add(uuid);
+            }
+        }
+
+        if (grupo.getEspectadores().isEmpty()) {
+            grupos.remove(grupo);
+        }
+    }
+
+    /**
+     * Quita espectadores de la sesión y descarta los grupos que queden vacíos
+     */
+    public synchronized void quitarEspectadores(Collection<UUID> jugadores) {
+        espectadores.removeAll(jugadores);
+        for (GrupoEspectadores grupo : grupos) {
+            grupo.getEspectadores().removeAll(jugadores);
+        }
+        grupos.removeIf(grupo -> grupo.getEspectadores().isEmpty());
+    }
+
+    /**
+     * Verifica si la sesión reproduce exactamente la misma secuencia compilada
+     */
+    public boolean reproduceMismaSecuencia(List<Cinematica> otraSecuencia, List<LineaTiempo> otrasLineas) {
+        return secuencia.equals(otraSecuencia) && lineasTiempo.equals(otrasLineas);
+    }
 
-            Map<Integer, List<String>> eventos = cinematicaActual.getEventosProgramados();
-            if (eventos.containsKey(tickActual)) {
-                List<String> comandos = eventos.get(tickActual);
+    /**
+     * Ejecuta los eventos programados en un frame de la cinemática indicada
+     */
+    public void verificarEventos(int cinematica, int frame) {
+        if (!activa || secuencia.isEmpty()) return;
 
+        try {
+            String[] comandos = lineasTiempo.get(cinematica).getComandos(frame);
+            if (comandos != null) {
                 for (String comando : comandos) {
-                    try {
-                        plugin.getLogger().info("Ejecutando evento: " + comando);
-                        Bukkit.dispatchCommand(Bukkit.getConsoleSender(), comando);
-                    } catch (Exception e) {
-                        plugin.getLogger().warning("Error al ejecutar comando: " + comando + " - " + e.getMessage());
-                    }
+                    // Los comandos de consola van al hilo global (en Folia la reproducción corre en una región)
+                    plugin.getPlanificador().ejecutarGlobal(() -> {
+                        try {
+                            plugin.getLogger().info("Ejecutando evento: " + comando);
+                            Bukkit.dispatchCommand(Bukkit.getConsoleSender(), comando);
+                        } catch (Exception e) {
+                            plugin.getLogger().warning("Error al ejecutar comando: " + comando + " - " + e.getMessage());
+                        }
+                    });
                 }
             }
         } catch (Exception e) {
@@ -70,32 +137,180 @@ public class ProgresoCinematica {
     }
 
     /**
-     * Finaliza la cinemática
+     * Registra una tarea propia de la reproducción; si ya terminó se cancela en el acto
      */
-    public void finalizar() {
+    public synchronized void registrarTarea(PlanificadorTareas.Tarea tarea) {
+        if (!activa) {
+            tarea.cancelar();
+            return;
+        }
+        tareas.add(tarea);
+    }
+
+    /**
+     * Finaliza la cinemática y cancela todas sus tareas
+     */
+    public synchronized void finalizar() {
         this.activa = false;
 
+        for (PlanificadorTareas.Tarea tarea : tareas) {
+            tarea.cancelar();
+        }
+        tareas.clear();
+
         plugin.getLogger().info("Cinemática finalizada con " + espectadores.size() + " espectadores");
     }
 
+    /**
+     * Cancela la reproducción: detiene el cursor, cancela sus tareas y suelta los grupos y
+     * las líneas de tiempo para que la memoria se libere en el acto
+     * Los espectadores y su información se conservan para restaurarlos
+     */
+    public synchronized void cancelar() {
+        if (activa) {
+            finalizar();
+        }
+
+        grupos.clear();
+        lineasTiempo = List.of();
+    }
+
+    /**
+     * Marca que ya se disparó el evento de inicio; a partir de aquí no se admiten más espectadores
+     */
+    public synchronized void marcarIniciada() {
+        this.iniciada = true;
+    }
+
+    /**
+     * Incrementa el reloj de la sesión
+     */
+    public synchronized void incrementarTicksSesion() {
+        ticksSesion++;
+    }
+
+    /**
+     * Pausa la reproducción; una sesión pausada no consume trabajo por tick
+     *
+     * @return false si no estaba activa o ya estaba pausada
+     */
+    public synchronized boolean pausar() {
+        if (!activa || pausada) {
+            return false;
+        }
+
+        pausada = true;
+        inicioPausaNanos = System.nanoTime();
+        return true;
+    }
+
+    /**
+     * Reanuda la reproducción desde el mismo frame, desplazando el reloj lo que duró la pausa
+     *
+     * @return false si no estaba pausada
+     */
+    public synchronized boolean reanudar() {
+        if (!activa || !pausada) {
+            return false;
+        }
+
+        long duracionPausa = System.nanoTime() - inicioPausaNanos;
+        for (GrupoEspectadores grupo : grupos) {
+            grupo.iniciarReloj(grupo.getInicioNanos() + duracionPausa);
+        }
+
+        pausada = false;
+        return true;
+    }
+
+    /**
+     * Salta a un segundo de la secuencia para todos los grupos de la sesión
+     * El acceso es directo sobre las líneas de tiempo indexadas; los frames saltados no disparan eventos
+     *
+     * @param segundos posición desde el inicio de la secuencia (se ajusta a su duración)
+     * @return false si la reproducción no está activa o aún no empezó
+     */
+    public synchronized boolean buscar(double segundos) {
+        if (!activa || !iniciada || framesTotales == 0) {
+            return false;
+        }
+
+        // Cinemática de la secuencia que contiene el instante; cada línea tiene su propio periodo
+        double restante = Math.max(0.0, segundos);
+        int cinematica = 0;
+        int framesPrevios = 0;
+        while (cinematica < lineasTiempo.size() - 1 && restante >= lineasTiempo.get(cinematica).getDuracionSegundos()) {
+            restante -= lineasTiempo.get(cinematica).getDuracionSegundos();
+            framesPrevios += lineasTiempo.get(cinematica).getTotalFrames();
+            cinematica++;
+        }
+
+        LineaTiempo linea = lineasTiempo.get(cinematica);
+        int frame = linea.frameEnSegundo(restante);
+        long periodo = linea.getPeriodoNanos();
+        long referencia = pausada ? inicioPausaNanos : System.nanoTime();
+        for (GrupoEspectadores grupo : grupos) {
+            grupo.posicionar(cinematica, frame, framesPrevios, referencia - frame * periodo);
+        }
+
+        return true;
+    }
+
+    /**
+     * Registra el avance del cursor hasta el frame vencido
+     *
+     * @param retrasoNanos retraso respecto al vencimiento de ese frame
+     * @param saltados frames atrasados que se saltaron para alcanzarlo
+     * @param enviado false si el paso del gobernador dejó el frame sin enviar
+     */
+    public synchronized void registrarAvance(long retrasoNanos, int saltados, boolean enviado) {
+        framesSaltados += saltados;
+        if (!enviado) {
+            framesOmitidosPaso++;
+            return;
+        }
+
+        framesEnviados++;
+        retrasoTotalNanos += retrasoNanos;
+        retrasoMaximoNanos = Math.max(retrasoMaximoNanos, retrasoNanos);
+    }
+
+    /**
+     * Obtiene la línea de tiempo compilada de una cinemática de la secuencia
+     */
+    public LineaTiempo getLineaTiempo(int cinematica) {
+        return lineasTiempo.get(cinematica);
+    }
+
+    /**
+     * Obtiene el grupo que marca el ritmo de la sesión (el primero en unirse)
+     */
+    public GrupoEspectadores getGrupoLider() {
+        return grupos.isEmpty() ? null : grupos.get(0);
+    }
+
     /**
      * Obtiene el progreso actual como porcentaje
      */
     public double obtenerPorcentajeProgreso() {
-        if (cadenaTareas.getTasksLeft() == 0) return 100.0;
+        GrupoEspectadores lider = getGrupoLider();
+        if (framesTotales == 0 || lider == null || !activa) return 100.0;
 
-        int tareasCompletadas = cadenaTareas.getCurrentTask();
-        int tareasTotal = tareasCompletadas + cadenaTareas.getTasksLeft();
-
-        return (double) tareasCompletadas / tareasTotal * 100.0;
+        return (double) lider.getFramesCompletados() / framesTotales * 100.0;
     }
 
     /**
      * Obtiene información de estado para debugging
      */
     public String obtenerEstadoDebug() {
-        return String.format("ProgresoCinematica{activa=%s, espectadores=%d, cinematica=%d/%d, progreso=%.1f%%}",
-                activa, espectadores.size(), cinematicaActual + 1, secuencia.size(), obtenerPorcentajeProgreso());
+        GrupoEspectadores lider = getGrupoLider();
+        double retrasoMedioMs = framesEnviados == 0 ? 0.0 : retrasoTotalNanos / (double) framesEnviados / 1_000_000.0;
+        return String.format("ProgresoCinematica{activa=%s, fase=%s, espectadores=%d, grupos=%d, cinematica=%d/%d, frame=%d, progreso=%.1f%%, " +
+                        "retrasoMedio=%.2fms, retrasoMax=%.2fms, saltados=%d, omitidosPaso=%d, pausada=%s}",
+                activa, getFase(), espectadores.size(), grupos.size(),
+                (lider != null ? lider.getCinematicaActual() : 0) + 1, secuencia.size(),
+                lider != null ? lider.getFrameActual() : -1, obtenerPorcentajeProgreso(),
+                retrasoMedioMs, retrasoMaximoNanos / 1_000_000.0, framesSaltados, framesOmitidosPaso, pausada);
     }
 
     // Getters y Setters
@@ -107,8 +322,8 @@ public class ProgresoCinematica {
         return espectadores;
     }
 
-    public CadenaTareas getCadenaTareas() {
-        return cadenaTareas;
+    public List<GrupoEspectadores> getGrupos() {
+        return grupos;
     }
 
     public Map<UUID, InfoJugador> getInformacionJugadores() {
@@ -123,11 +338,35 @@ public class ProgresoCinematica {
         this.activa = activa;
     }
 
+    public boolean isIniciada() {
+        return iniciada;
+    }
+
+    public boolean isPausada() {
+        return pausada;
+    }
+
+    public long getTicksSesion() {
+        return ticksSesion;
+    }
+
     public int getCinematicaActual() {
-        return cinematicaActual;
+        GrupoEspectadores lider = getGrupoLider();
+        return lider != null ? lider.getCinematicaActual() : 0;
+    }
+
+    public FaseReproduccion getFase() {
+        GrupoEspectadores lider = getGrupoLider();
+        return !activa || lider == null ? FaseReproduccion.FINALIZADA : lider.getFase();
     }
 
-    public void setCinematicaActual(int cinematicaActual) {
-        this.cinematicaActual = cinematicaActual;
+    /**
+     * Fases por las que pasa cada grupo de espectadores
+     */
+    public enum FaseReproduccion {
+        FADE_INICIAL,   // Esperando el fade in inicial
+        REPRODUCIENDO,  // Recorriendo los frames de la secuencia
+        FADE_FINAL,     // Fade final antes de restaurar a los jugadores
+        FINALIZADA      // Recorrido terminado, esperando al resto de grupos
     }
-}
\ No newline at end of file
+}
@@ -2,14 +2,19 @@ package net.viciont.cinematics.utils;
 
 import org.bukkit.scheduler.BukkitRunnable;
 
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Utilidad para encadenar tareas con retrasos
  * Versión moderna y optimizada para Minecraft 1.21
+ * Cada cadena ocupa un hilo mientras duerme: con el backend VIRTUAL ese hilo es virtual
+ * y miles de cadenas simultáneas cuestan unos pocos KB de pila cada una
  *
  * @author CrissyjuanxD
  */
@@ -17,7 +22,16 @@ public class CadenaTareas {
 
     private final ConcurrentLinkedQueue<Runnable> cola = new ConcurrentLinkedQueue<>();
     private int tareasTotal;
-    private static final ExecutorService EXECUTOR = Executors.newCachedThreadPool();
+
+    // Backend de ejecución compartido por todas las cadenas
+    private static volatile Backend backend = Backend.BUKKIT;
+    private static ExecutorService ejecutorVirtual;
+
+    // Cadenas en ejecución, para poder cancelarlas al deshabilitar el plugin
+    private static final Set<CadenaTareas> ACTIVAS = ConcurrentHashMap.newKeySet();
+
+    private volatile boolean cancelada = false;
+    private volatile Thread hilo;
 
     /**
      * Crea una nueva cadena de tareas vacía
@@ -110,30 +124,121 @@ public class CadenaTareas {
 
     /**
      * Ejecuta toda la cadena de tareas
+     *
+     * @return futuro que se completa con true al terminar o con false si la cadena se canceló
      */
     public CompletableFuture<Boolean> execute() {
         this.tareasTotal = cola.size();
         CompletableFuture<Boolean> futuro = new CompletableFuture<>();
+        ACTIVAS.add(this);
 
-        // Usar el scheduler de Bukkit para mejor sincronización
-        org.bukkit.Bukkit.getScheduler().runTaskAsynchronously(
-                net.viciont.cinematics.ViciontCinematics.getInstancia(), () -> {
-                    while (!cola.isEmpty()) {
-                        Runnable siguienteTarea = obtenerSiguiente();
-                        if (siguienteTarea != null) {
-                            try {
-                                siguienteTarea.run();
-                            } catch (Exception e) {
-                                e.printStackTrace();
-                            }
+        Runnable ejecucion = () -> {
+            hilo = Thread.currentThread();
+            try {
+                while (!cancelada && !cola.isEmpty()) {
+                    Runnable siguienteTarea = obtenerSiguiente();
+                    if (siguienteTarea != null) {
+                        try {
+                            siguienteTarea.run();
+                        } catch (Exception e) {
+                            e.printStackTrace();
                         }
                     }
-                    futuro.complete(true);
-                });
+                }
+            } finally {
+                // El worker de Bukkit vuelve a su pool: no debe llevarse la interrupción de cancelar()
+                synchronized (this) {
+                    hilo = null;
+                    Thread.interrupted();
+                }
+                ACTIVAS.remove(this);
+                futuro.complete(!cancelada);
+            }
+        };
+
+        if (backend == Backend.VIRTUAL) {
+            obtenerEjecutorVirtual().execute(ejecucion);
+        } else {
+            // Worker asíncrono del servidor (el scheduler de Bukkit, o el asíncrono de Folia)
+            net.viciont.cinematics.ViciontCinematics.getInstancia().getPlanificador().ejecutarAsincrono(ejecucion);
+        }
 
         return futuro;
     }
 
+    /**
+     * Cancela la cadena: descarta las tareas pendientes y despierta el retraso en curso
+     */
+    public void cancelar() {
+        cancelada = true;
+        cola.clear();
+
+        // Sincronizado con el final de execute() para no interrumpir un hilo que ya no es de la cadena
+        synchronized (this) {
+            if (hilo != null) {
+                hilo.interrupt();
+            }
+        }
+    }
+
+    /**
+     * Verifica si la cadena fue cancelada
+     */
+    public boolean isCancelada() {
+        return cancelada;
+    }
+
+    /**
+     * Selecciona el backend de ejecución para las próximas cadenas
+     */
+    public static void configurarBackend(String nombre) {
+        try {
+            backend = Backend.valueOf(nombre.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            backend = Backend.BUKKIT;
+            net.viciont.cinematics.ViciontCinematics.getInstancia().getLogger()
+                    .warning("Backend de tareas inválido: " + nombre + ", usando BUKKIT");
+        }
+    }
+
+    private static synchronized ExecutorService obtenerEjecutorVirtual() {
+        if (ejecutorVirtual == null || ejecutorVirtual.isShutdown()) {
+            ejecutorVirtual = Executors.newVirtualThreadPerTaskExecutor();
+        }
+        return ejecutorVirtual;
+    }
+
+    /**
+     * Cancela todas las cadenas en ejecución y espera a que terminen
+     *
+     * @param esperaMaximaMs tiempo máximo de espera para que los hilos terminen
+     * @return número de cadenas canceladas
+     */
+    public static int detenerTodas(long esperaMaximaMs) {
+        int canceladas = ACTIVAS.size();
+        for (CadenaTareas cadena : ACTIVAS) {
+            cadena.cancelar();
+        }
+
+        ExecutorService ejecutor;
+        synchronized (CadenaTareas.class) {
+            ejecutor = ejecutorVirtual;
+            ejecutorVirtual = null;
+        }
+
+        if (ejecutor != null) {
+            ejecutor.shutdownNow();
+            try {
+                ejecutor.awaitTermination(esperaMaximaMs, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        ACTIVAS.clear();
+        return canceladas;
+    }
+
     /**
      * Clona la cadena actual
      */
@@ -148,6 +253,14 @@ public class CadenaTareas {
         return clon;
     }
 
+    /**
+     * Backends disponibles para ejecutar las cadenas
+     */
+    public enum Backend {
+        BUKKIT,  // Worker asíncrono del scheduler de Bukkit (hilo de plataforma)
+        VIRTUAL  // Un hilo virtual por cadena
+    }
+
     /**
      * Clase interna para manejar retrasos
      */
@@ -167,8 +280,8 @@ public class CadenaTareas {
             try {
                 Thread.sleep(tiempo);
             } catch (InterruptedException e) {
+                // Interrumpido al cancelar la cadena
                 Thread.currentThread().interrupt();
-                e.printStackTrace();
             }
         }
     }
@@ -0,0 +1,72 @@
+package net.viciont.cinematics.core;
+
+import net.viciont.cinematics.objects.Frame;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Comprueba que compactar y expandir conserva los ticks y respeta las tolerancias
+ *
+ * @author CrissyjuanxD
+ */
+class CompactadorFramesTest {
+
+    private static final double TOLERANCIA_POSICION = 0.05;
+    private static final double TOLERANCIA_ANGULO = 1.0;
+
+    // Redondeo de float en yaw y pitch
+    private static final double EPSILON = 1.0e-4;
+
+    @Test
+    void expandirCompactadosConservaTicksYTolerancias() {
+        List<Frame> originales = crearFrames();
+        CompactadorFrames compactador = new CompactadorFrames(TOLERANCIA_POSICION, TOLERANCIA_ANGULO);
+
+        List<Frame> compactados = compactador.compactar(originales);
+        List<Frame> expandidos = CompactadorFrames.expandir(compactados);
+
+        assertTrue(compactados.size() < originales.size(), "no se descartó ningún frame");
+        assertEquals(originales.size(), expandidos.size(), "ticks tras expandir");
+
+        for (int i = 0; i < originales.size(); i++) {
+            Frame original = originales.get(i);
+            Frame expandido = expandidos.get(i);
+
+            assertEquals(original.getMundo(), expandido.getMundo(), "mundo en el tick " + i);
+            assertTrue(original.distanciaA(expandido) <= TOLERANCIA_POSICION + EPSILON,
+                    "posición en el tick " + i + ": " + original.distanciaA(expandido));
+            assertTrue(Math.abs(diferenciaAngulo(original.getYaw(), expandido.getYaw())) <= TOLERANCIA_ANGULO + EPSILON,
+                    "yaw en el tick " + i);
+            assertTrue(Math.abs(original.getPitch() - expandido.getPitch()) <= TOLERANCIA_ANGULO + EPSILON,
+                    "pitch en el tick " + i);
+        }
+    }
+
+    /**
+     * Recorrido de 400 ticks con una recta, una curva, un giro que cruza los ±180° y un cambio de mundo
+     */
+    private static List<Frame> crearFrames() {
+        List<Frame> frames = new ArrayList<>();
+        for (int i = 0; i < 400; i++) {
+            String mundo = i < 300 ? "world" : "world_nether";
+            double x = i < 100 ? i * 0.2 : 20 + Math.sin((i - 100) * 0.03) * 10;
+            double z = i < 100 ? 0 : 10 - Math.cos((i - 100) * 0.03) * 10;
+            float yaw = (float) (((i * 1.7) + 180) % 360 - 180);
+            float pitch = (float) (Math.sin(i * 0.05) * 30);
+            frames.add(new Frame(mundo, x, 64 + i * 0.01, z, yaw, pitch));
+        }
+        return frames;
+    }
+
+    private static double diferenciaAngulo(double a, double b) {
+        double diferencia = (a - b) % 360;
+        if (diferencia > 180) diferencia -= 360;
+        if (diferencia < -180) diferencia += 360;
+        return diferencia;
+    }
+}
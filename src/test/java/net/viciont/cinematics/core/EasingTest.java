@@ -0,0 +1,47 @@
+package net.viciont.cinematics.core;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+/**
+ * Comprueba las curvas cubic-bezier contra los valores conocidos de CSS
+ *
+ * @author CrissyjuanxD
+ */
+class EasingTest {
+
+    // Error admitido frente a la curva exacta (tabla de 1024 tramos e interpolación lineal)
+    private static final double EPSILON = 1.0e-4;
+
+    // ease de CSS, cubic-bezier(0.25, 0.1, 0.25, 1): pares (x, y) resueltos con bisección
+    private static final double[][] VALORES_EASE = {
+            {0.0, 0.0},
+            {0.1, 0.094796},
+            {0.25, 0.408511},
+            {0.5, 0.802403},
+            {0.75, 0.960459},
+            {0.9, 0.994316},
+            {1.0, 1.0}
+    };
+
+    @Test
+    void cubicBezierCoincideConEaseDeCss() {
+        Easing curva = Easing.obtener("cubic-bezier(0.25, 0.1, 0.25, 1)");
+        for (double[] valor : VALORES_EASE) {
+            assertEquals(valor[1], curva.aplicar(valor[0]), EPSILON, "ease en x = " + valor[0]);
+        }
+    }
+
+    @Test
+    void easeConNombreEsLaMismaCurva() {
+        Easing porNombre = Easing.obtener("ease");
+        Easing porParametros = Easing.obtener("cubic-bezier(0.25,0.1,0.25,1)");
+        for (int i = 0; i <= 100; i++) {
+            double t = i / 100.0;
+            assertEquals(porParametros.aplicar(t), porNombre.aplicar(t), 1.0e-12);
+        }
+        assertSame(Easing.LINEAL, Easing.obtener("linear"));
+    }
+}
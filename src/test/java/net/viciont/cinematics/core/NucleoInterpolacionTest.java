@@ -0,0 +1,118 @@
+package net.viciont.cinematics.core;
+
+import net.viciont.cinematics.core.InterpoladorFrames.TipoInterpolacion;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.lang.management.ManagementFactory;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Comprueba que el núcleo no reserva memoria por muestra una vez calentado y que la spline
+ * centrípeta pasa por cada clave en su tick
+ *
+ * @author CrissyjuanxD
+ */
+class NucleoInterpolacionTest {
+
+    private static final int CLAVES = 200;
+    private static final int INTERMEDIOS = 4;
+    private static final int VUELTAS_CALENTAMIENTO = 2_000;
+    private static final int VUELTAS_MEDIDA = 500;
+
+    // Margen para lo que pueda reservar la propia lectura del contador
+    private static final long TOLERANCIA_BYTES = 1024;
+
+    // Error admitido al comparar una muestra con su clave
+    private static final double EPSILON_CLAVE = 1.0e-9;
+
+    private static com.sun.management.ThreadMXBean hilos;
+
+    @BeforeAll
+    static void prepararMedidor() {
+        assumeTrue(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean);
+        hilos = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        assumeTrue(hilos.isThreadAllocatedMemorySupported());
+        hilos.setThreadAllocatedMemoryEnabled(true);
+
+        // Se mide el camino escalar, que es el que usan la reproducción y las muestras sueltas
+        NucleoInterpolacion.configurarVectorial(false);
+    }
+
+    @ParameterizedTest
+    @EnumSource(TipoInterpolacion.class)
+    void muestrasSinReservasTrasCalentar(TipoInterpolacion tipo) {
+        NucleoInterpolacion nucleo = new NucleoInterpolacion(tipo, true);
+        CurvaCamara curva = nucleo.preparar(crearClaves(), INTERMEDIOS);
+        PistasPose salida = new PistasPose(curva.getTotal());
+
+        recorrer(curva, salida, VUELTAS_CALENTAMIENTO);
+
+        long hilo = Thread.currentThread().threadId();
+        long antes = hilos.getThreadAllocatedBytes(hilo);
+        recorrer(curva, salida, VUELTAS_MEDIDA);
+        long reservados = hilos.getThreadAllocatedBytes(hilo) - antes;
+
+        assertTrue(reservados <= TOLERANCIA_BYTES,
+                tipo + " reservó " + reservados + " bytes en " + VUELTAS_MEDIDA * curva.getTotal() + " muestras");
+    }
+
+    @Test
+    void splinePasaPorCadaClaveEnSuTick() {
+        PistasPose claves = crearClaves();
+        CurvaCamara curva = new NucleoInterpolacion(TipoInterpolacion.CATMULL_ROM, true)
+                .preparar(claves, InterpoladorFrames.CLAVES_POR_SEGUNDO, 60.0);
+        PistasPose salida = new PistasPose(1);
+
+        for (int i = 0; i < CLAVES; i++) {
+            curva.pose(i / InterpoladorFrames.CLAVES_POR_SEGUNDO, salida, 0);
+            assertEquals(claves.x[i], salida.x[0], EPSILON_CLAVE, "x de la clave " + i);
+            assertEquals(claves.y[i], salida.y[0], EPSILON_CLAVE, "y de la clave " + i);
+            assertEquals(claves.z[i], salida.z[0], EPSILON_CLAVE, "z de la clave " + i);
+            assertEquals(claves.mundo[i], salida.mundo[0], "mundo de la clave " + i);
+        }
+
+        // A 60 FPS cada clave cae en una de cada tres muestras
+        PistasPose muestras = new PistasPose(curva.getTotal());
+        curva.muestras(0, curva.getTotal(), muestras);
+        for (int i = 0; i < CLAVES; i++) {
+            assertEquals(claves.x[i], muestras.x[i * 3], EPSILON_CLAVE, "muestra de la clave " + i);
+            assertEquals(claves.z[i], muestras.z[i * 3], EPSILON_CLAVE, "muestra de la clave " + i);
+        }
+    }
+
+    /**
+     * Evalúa cada muestra por índice, por instante y en bloque, como hacen la reproducción y el precálculo
+     */
+    private static void recorrer(CurvaCamara curva, PistasPose salida, int vueltas) {
+        int total = curva.getTotal();
+        double paso = curva.getDuracion() / total;
+        for (int v = 0; v < vueltas; v++) {
+            for (int k = 0; k < total; k++) {
+                curva.muestra(k, salida, k);
+                curva.pose(k * paso, salida, k);
+            }
+            curva.muestras(0, total, salida);
+        }
+    }
+
+    /**
+     * Claves en dos mundos, con giros que cruzan los ±180° y una clave repetida
+     */
+    private static PistasPose crearClaves() {
+        PistasPose claves = new PistasPose(CLAVES);
+        for (int i = 0; i < CLAVES; i++) {
+            double angulo = i * 0.15;
+            int mundo = i < CLAVES / 2 ? 0 : 1;
+            int j = i == 50 ? 49 : i;
+            claves.escribir(i, mundo, Math.cos(j * 0.15) * 20, 64 + Math.sin(angulo) * 3, Math.sin(j * 0.15) * 20,
+                    (float) ((i * 7.5) % 360 - 180), (float) (Math.sin(angulo) * 45));
+        }
+        return claves;
+    }
+}